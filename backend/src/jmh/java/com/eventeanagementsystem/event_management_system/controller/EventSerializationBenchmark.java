@@ -0,0 +1,90 @@
+package com.eventeanagementsystem.event_management_system.controller;
+
+import com.eventeanagementsystem.event_management_system.db.AppUser;
+import com.eventeanagementsystem.event_management_system.db.AttendanceStatus;
+import com.eventeanagementsystem.event_management_system.db.Attendee;
+import com.eventeanagementsystem.event_management_system.db.Event;
+import com.eventeanagementsystem.event_management_system.db.Organizer;
+import com.eventeanagementsystem.event_management_system.db.UserRole;
+import com.eventeanagementsystem.event_management_system.dto.EventCatalogPage;
+import com.eventeanagementsystem.event_management_system.dto.EventSummaryDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson cost of the event responses, with the ObjectMapper configuration Spring MVC uses.
+ * <ul>
+ *     <li>eventEntity: an Event with N attendees, as returned by /api/events/{id} and /api/events/my
+ *     (and by the catalog before it switched to summaries)</li>
+ *     <li>catalogPage: one /api/events page of summaries</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int attendees;
+
+    private ObjectMapper objectMapper;
+    private Event event;
+    private EventCatalogPage catalogPage;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        AppUser organizerUser = new AppUser(1, "organizer@example.com", "n/a", UserRole.ORGANIZER);
+        Organizer organizer = new Organizer(1, "Tech Events SRL", "organizer@example.com", new ArrayList<>(), organizerUser);
+        event = new Event();
+        event.setId(1);
+        event.setName("Spring Tech Summit");
+        event.setDate(new Date(1_900_000_000_000L));
+        event.setLocation("Main Hall");
+        event.setDescription("A day of talks on the JVM, databases and distributed systems.");
+        event.setMaxAttendees(attendees);
+        event.setOrganizer(organizer);
+        organizer.getEvents().add(event);
+        for (int i = 0; i < attendees; i++) {
+            AppUser user = new AppUser(100 + i, "user" + i + "@example.com", "n/a", UserRole.ATTENDEE);
+            event.getAttendees().add(new Attendee(i, "User " + i, user.getEmail(), event, AttendanceStatus.APPROVED, user));
+        }
+
+        List<EventSummaryDto> items = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            items.add(new EventSummaryDto(i, "Event " + i, event.getDate(), "Main Hall", null, attendees,
+                    organizer.getId(), organizer.getName()));
+        }
+        catalogPage = new EventCatalogPage(items, "ZDoxOTAwMDAwMDAwMDAwOjE5");
+    }
+
+    @Benchmark
+    public byte[] eventEntity() throws Exception {
+        return objectMapper.writeValueAsBytes(event);
+    }
+
+    @Benchmark
+    public byte[] catalogPage() throws Exception {
+        return objectMapper.writeValueAsBytes(catalogPage);
+    }
+}
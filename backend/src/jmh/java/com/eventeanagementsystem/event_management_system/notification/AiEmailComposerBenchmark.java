@@ -0,0 +1,98 @@
+package com.eventeanagementsystem.event_management_system.notification;
+
+import com.eventeanagementsystem.event_management_system.db.Event;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU cost of the email text around the LLM call: prompt building, the fallback templates,
+ * signature enforcement and the SimpleDateFormat-based event date.
+ * Ollama itself is not involved (no client is wired in).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AiEmailComposerBenchmark {
+
+    private static final String NAME = AiEmailComposer.RECIPIENT_PLACEHOLDER;
+
+    private AiEmailComposer composer;
+    private Event event;
+    private String generatedWithSignOff;
+    private String generatedWithoutSignOff;
+
+    @Setup
+    public void setUp() {
+        composer = new AiEmailComposer(null, new SimpleMeterRegistry(), 1000, 60, 60);
+        event = new Event();
+        event.setId(1);
+        event.setName("Spring Tech Summit");
+        event.setLocation("Main Hall, Cluj-Napoca");
+        event.setDate(new Date(1_900_000_000_000L));
+        event.setDescription("A day of talks on the JVM, databases and distributed systems.");
+        String paragraph = "We are delighted to confirm your place at Spring Tech Summit. "
+                + "Please bring a photo ID and arrive fifteen minutes early for registration.\n\n";
+        generatedWithoutSignOff = "Dear " + NAME + ",\n\n" + paragraph.repeat(4);
+        generatedWithSignOff = generatedWithoutSignOff + "Best regards,\n[Event Name] Team";
+    }
+
+    @Benchmark
+    public String buildApprovedPrompt() {
+        return composer.buildApprovedPrompt(NAME, event);
+    }
+
+    @Benchmark
+    public String buildEventUpdatedPrompt() {
+        return composer.buildEventUpdatedPrompt(NAME, event, "Tech Summit", "2030-03-01 10:00", "Room 2");
+    }
+
+    @Benchmark
+    public String defaultApprovedTemplate() {
+        return composer.defaultApprovedTemplate(NAME, event);
+    }
+
+    @Benchmark
+    public String defaultRejectedTemplate() {
+        return composer.defaultRejectedTemplate(NAME, event);
+    }
+
+    @Benchmark
+    public String defaultRemovedTemplate() {
+        return composer.defaultRemovedTemplate(NAME, event);
+    }
+
+    @Benchmark
+    public String defaultEventUpdatedTemplate() {
+        return composer.defaultEventUpdatedTemplate(NAME, event, "Tech Summit", "2030-03-01 10:00", "Room 2");
+    }
+
+    @Benchmark
+    public String enforceSignatureReplacingSignOff() {
+        return composer.enforceSignature(generatedWithSignOff, event);
+    }
+
+    @Benchmark
+    public String enforceSignatureAppending() {
+        return composer.enforceSignature(generatedWithoutSignOff, event);
+    }
+
+    @Benchmark
+    public String formatEventDate() {
+        return composer.formatEventDate(event);
+    }
+}
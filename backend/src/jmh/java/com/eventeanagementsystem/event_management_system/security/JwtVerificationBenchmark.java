@@ -0,0 +1,76 @@
+package com.eventeanagementsystem.event_management_system.security;
+
+import com.eventeanagementsystem.event_management_system.db.AppUser;
+import com.eventeanagementsystem.event_management_system.db.UserRole;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.Key;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of authenticating a bearer token in JwtAuthenticationFilter.
+ * <ul>
+ *     <li>legacyValidateThenExtract: what the filter used to do (two parser builds, two HMAC checks)</li>
+ *     <li>verifyUncached: one shared parser, one HMAC check (first request with a token)</li>
+ *     <li>verifyCached: same token seen again (e.g. a polling mobile client)</li>
+ *     <li>generateToken: signing a token with the user/organizer claims (login, register)</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-0123456789";
+
+    private Key key;
+    private JwtUtil cachedJwtUtil;
+    private JwtUtil uncachedJwtUtil;
+    private String token;
+    private AppUser user;
+
+    @Setup
+    public void setUp() {
+        key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        cachedJwtUtil = new JwtUtil(SECRET, 3_600_000L, 10_000L);
+        uncachedJwtUtil = new JwtUtil(SECRET, 3_600_000L, 0L);
+        user = new AppUser(1, "organizer@example.com", "n/a", UserRole.ORGANIZER);
+        token = cachedJwtUtil.generateToken(user, 1);
+        cachedJwtUtil.verify(token); // prime the cache
+    }
+
+    @Benchmark
+    public String legacyValidateThenExtract() {
+        Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody().getSubject();
+    }
+
+    @Benchmark
+    public VerifiedToken verifyUncached() {
+        return uncachedJwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyCached() {
+        return cachedJwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return uncachedJwtUtil.generateToken(user, 1);
+    }
+}
@@ -0,0 +1,69 @@
+package com.eventeanagementsystem.event_management_system.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decision cost of the reserved booking mode under contention: 16 threads hammering one event.
+ * <ul>
+ *     <li>holdAndRelease: a seat is granted and given back (the state stays at the edge of capacity)</li>
+ *     <li>soldOut: every request is refused, the common case once a drop has sold out</li>
+ * </ul>
+ * The database path this replaces is measured end to end by SeatReservationStressTest (direct vs reserved).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(16)
+@Fork(1)
+public class SeatReservationBenchmark {
+
+    private final AtomicInteger userIds = new AtomicInteger();
+    private EventSeatState available;
+    private EventSeatState soldOut;
+
+    @State(Scope.Thread)
+    public static class User {
+        int id;
+
+        @Setup
+        public void setUp(SeatReservationBenchmark benchmark) {
+            id = benchmark.userIds.incrementAndGet();
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        available = new EventSeatState(8, Set.of(), Set.of());
+        soldOut = new EventSeatState(1, Set.of(-1), Set.of());
+    }
+
+    @Benchmark
+    public EventSeatState.HoldResult holdAndRelease(User user) {
+        EventSeatState.HoldResult result = available.tryHold(user.id);
+        if (result == EventSeatState.HoldResult.GRANTED) {
+            available.release(user.id);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public EventSeatState.HoldResult soldOut(User user) {
+        return soldOut.tryHold(user.id);
+    }
+}
@@ -1,14 +1,24 @@
 package com.eventeanagementsystem.event_management_system.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
 
 @Configuration
 public class RestClientConfig {
 
+    /**
+     * HTTP client used for Ollama. It keeps a pool of keep-alive HTTP/1.1 connections
+     * (one shared instance), and connecting to a dead host fails fast instead of hanging.
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public HttpClient ollamaHttpClient(@Value("${ollama.connect-timeout-ms:2000}") long connectTimeoutMs) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
     }
-}
\ No newline at end of file
+}
@@ -1,14 +1,48 @@
 package com.eventeanagementsystem.event_management_system.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.List;
+
 @Configuration
 @EnableWebMvc
 public class WebConfig implements WebMvcConfigurer {
 
+    private final ObjectMapper objectMapper;
+
+    // streamed responses (attendee exports) run on this pool; each one holds a DB connection while it runs
+    @Value("${web.async.max-threads:4}")
+    private int asyncMaxThreads;
+    @Value("${web.async.timeout-ms:600000}")
+    private long asyncTimeoutMs;
+
+    public WebConfig(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("mvc-async-");
+        executor.setCorePoolSize(asyncMaxThreads);
+        executor.setMaxPoolSize(asyncMaxThreads);
+        executor.setQueueCapacity(100);
+        executor.initialize();
+        configurer.setTaskExecutor(executor);
+        configurer.setDefaultTimeout(asyncTimeoutMs);
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         // Allow API calls from local dev, LAN devices, and emulators
@@ -18,4 +52,26 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedHeaders("*")
                 .allowCredentials(true);
     }
+
+    /**
+     * Renders lazy associations that were not fetched instead of loading them (open-in-view is off):
+     * an unloaded reference is written as {"id": ...}, an unloaded collection as null.
+     */
+    // static: the ObjectMapper this class depends on is built with it
+    @Bean
+    public static Hibernate6Module hibernate6Module() {
+        return new Hibernate6Module()
+                .enable(Hibernate6Module.Feature.SERIALIZE_IDENTIFIER_FOR_LAZY_NOT_LOADED_OBJECTS);
+    }
+
+    // @EnableWebMvc gives the MVC converter its own ObjectMapper; use Boot's (with the module above) instead,
+    // so responses serialized ahead of time by EventResponseCache are byte-identical to rendered ones
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        for (HttpMessageConverter<?> converter : converters) {
+            if (converter instanceof MappingJackson2HttpMessageConverter jackson) {
+                jackson.setObjectMapper(objectMapper);
+            }
+        }
+    }
 }
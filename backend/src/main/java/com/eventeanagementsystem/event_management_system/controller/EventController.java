@@ -1,18 +1,35 @@
 package com.eventeanagementsystem.event_management_system.controller;
 
+import com.eventeanagementsystem.event_management_system.db.AttendanceStatus;
 import com.eventeanagementsystem.event_management_system.db.Attendee;
 import com.eventeanagementsystem.event_management_system.db.Event;
 import com.eventeanagementsystem.event_management_system.db.Organizer;
+import com.eventeanagementsystem.event_management_system.dto.AttendeeImportReport;
+import com.eventeanagementsystem.event_management_system.dto.BulkDecisionRequest;
+import com.eventeanagementsystem.event_management_system.dto.BulkDecisionResult;
 import com.eventeanagementsystem.event_management_system.dto.EventStatsDto;
+import com.eventeanagementsystem.event_management_system.service.AttendeeExporter;
+import com.eventeanagementsystem.event_management_system.service.AttendeeImporter;
 import com.eventeanagementsystem.event_management_system.service.AttendeeService;
+import com.eventeanagementsystem.event_management_system.service.EventResponseCache;
 import com.eventeanagementsystem.event_management_system.service.EventService;
 import com.eventeanagementsystem.event_management_system.service.OrganizerService;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
@@ -22,13 +39,22 @@ public class EventController {
     private final EventService eventService;
     private final AttendeeService attendeeService;
     private final OrganizerService organizerService;
+    private final EventResponseCache eventResponseCache;
+    private final AttendeeExporter attendeeExporter;
+    private final AttendeeImporter attendeeImporter;
 
     public EventController(EventService eventService,
                            AttendeeService attendeeService,
-                           OrganizerService organizerService) {
+                           OrganizerService organizerService,
+                           EventResponseCache eventResponseCache,
+                           AttendeeExporter attendeeExporter,
+                           AttendeeImporter attendeeImporter) {
         this.eventService = eventService;
         this.attendeeService = attendeeService;
         this.organizerService = organizerService;
+        this.eventResponseCache = eventResponseCache;
+        this.attendeeExporter = attendeeExporter;
+        this.attendeeImporter = attendeeImporter;
     }
 
     // ---- ORGANIZER ----
@@ -69,15 +95,32 @@ public class EventController {
     }
 
     // Publicly accessible, no annotation needed
+    // Keyset-paginated: pass back `nextCursor` from the previous page as `cursor` to continue.
+    // Served pre-serialized from EventResponseCache; send the ETag back as If-None-Match to get a 304.
     @GetMapping("/events")
-    public List<Event> listEvents() {
-        return eventService.listEvents();
+    public ResponseEntity<byte[]> listEvents(@RequestParam(required = false) String cursor,
+                                             @RequestParam(required = false) Integer limit,
+                                             @RequestParam(defaultValue = "false") boolean includeDescription,
+                                             WebRequest request) {
+        return cachedJson(request, eventResponseCache.catalogPage(cursor, limit, includeDescription,
+                () -> eventService.listEventCatalog(cursor, limit, includeDescription)));
     }
 
     // Publicly accessible, no annotation needed
     @GetMapping("/events/{id}")
-    public Event getEvent(@PathVariable Integer id) {
-        return eventService.getEventById(id);
+    public ResponseEntity<byte[]> getEvent(@PathVariable Integer id, WebRequest request) {
+        return cachedJson(request, eventResponseCache.event(id, () -> eventService.getEventById(id)));
+    }
+
+    private static ResponseEntity<byte[]> cachedJson(WebRequest request, EventResponseCache.CachedResponse response) {
+        if (request.checkNotModified(response.etag())) {
+            return null; // 304 with the ETag already set
+        }
+        return ResponseEntity.ok()
+                .eTag(response.etag())
+                .cacheControl(CacheControl.noCache()) // clients may store it but must revalidate
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(response.body());
     }
 
     @GetMapping("/events/most-attendees")
@@ -92,6 +135,36 @@ public class EventController {
         return attendeeService.getAttendeesPerEvent(eventId);
     }
 
+    // ORGANIZER/ADMIN: stream the attendees as NDJSON (default) or CSV (?format=csv), optionally only one ?status=
+    @GetMapping("/events/{eventId}/attendees/export")
+    @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER')")
+    public ResponseEntity<StreamingResponseBody> exportAttendees(@PathVariable Integer eventId,
+                                                                 @RequestParam(required = false) String format,
+                                                                 @RequestParam(required = false) AttendanceStatus status) {
+        AttendeeExporter.Format exportFormat = AttendeeExporter.Format.parse(format);
+        // checked here, while errors can still become a proper status code
+        eventService.checkCanManageEvent(eventId);
+        StreamingResponseBody body = out -> attendeeExporter.export(eventId, status, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.contentType + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("event-" + eventId + "-attendees." + exportFormat.extension)
+                        .build().toString())
+                .body(body);
+    }
+
+    // ORGANIZER/ADMIN: bulk-add pre-registered attendees from a CSV body with name and email columns
+    // (?status=APPROVED takes their seats right away); answers with per-row errors and throughput
+    @PostMapping(value = "/events/{eventId}/attendees/import", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER')")
+    public ResponseEntity<AttendeeImportReport> importAttendees(@PathVariable Integer eventId,
+                                                                @RequestParam(defaultValue = "PENDING") AttendanceStatus status,
+                                                                InputStream csv) throws IOException {
+        eventService.checkCanManageEvent(eventId);
+        AttendeeImportReport report = attendeeImporter.importCsv(eventId, status, new InputStreamReader(csv, StandardCharsets.UTF_8));
+        return ResponseEntity.ok(report);
+    }
+
     // === BOOKING ENDPOINTS ===
 
     // ATTENDEE: request to attend an event
@@ -100,6 +173,10 @@ public class EventController {
     public ResponseEntity<Attendee> requestToAttend(@PathVariable Integer eventId,
                                                     @RequestBody @Valid Attendee attendeeBody) {
         Attendee saved = attendeeService.requestToAttendEvent(eventId, attendeeBody);
+        if (saved.getId() == null) {
+            // reserved booking mode: the request is accepted and its row is written shortly after
+            return ResponseEntity.accepted().body(saved);
+        }
         return ResponseEntity.created(URI.create("/api/attendees/" + saved.getId())).body(saved);
     }
 
@@ -110,6 +187,24 @@ public class EventController {
         return attendeeService.getPendingRequestsForEvent(eventId);
     }
 
+    // ORGANIZER/ADMIN: approve many pending requests at once, {"attendeeIds": [...]} or {"firstPending": N}
+    @PostMapping("/events/{eventId}/requests/approve")
+    @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER')")
+    public BulkDecisionResult approveRequests(@PathVariable Integer eventId,
+                                              @RequestBody BulkDecisionRequest request) {
+        eventService.checkCanManageEvent(eventId);
+        return attendeeService.decideRequests(eventId, AttendanceStatus.APPROVED, request);
+    }
+
+    // ORGANIZER/ADMIN: reject many pending requests at once (same body as above)
+    @PostMapping("/events/{eventId}/requests/reject")
+    @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER')")
+    public BulkDecisionResult rejectRequests(@PathVariable Integer eventId,
+                                             @RequestBody BulkDecisionRequest request) {
+        eventService.checkCanManageEvent(eventId);
+        return attendeeService.decideRequests(eventId, AttendanceStatus.REJECTED, request);
+    }
+
     // ORGANIZER/ADMIN: approve request
     @PostMapping("/events/{eventId}/requests/{attendeeId}/approve")
     @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER')")
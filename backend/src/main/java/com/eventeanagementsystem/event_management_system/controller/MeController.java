@@ -1,8 +1,7 @@
 package com.eventeanagementsystem.event_management_system.controller;
 
-import com.eventeanagementsystem.event_management_system.db.AttendanceStatus;
 import com.eventeanagementsystem.event_management_system.db.Attendee;
-import com.eventeanagementsystem.event_management_system.db.Event;
+import com.eventeanagementsystem.event_management_system.dto.EventSummaryDto;
 import com.eventeanagementsystem.event_management_system.service.AttendeeService;
 import com.eventeanagementsystem.event_management_system.service.AuthService;
 import com.eventeanagementsystem.event_management_system.dto.UpdateCredentialsRequest;
@@ -14,9 +13,9 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/me")
@@ -35,17 +34,13 @@ public class MeController {
         return attendeeService.getMyRequests();
     }
 
+    // Events the current user is approved for. Optional: when=upcoming|past, page + size (without size: all of them)
     @GetMapping("/attending-events")
     @PreAuthorize("isAuthenticated()")
-    public List<Event> getMyEvents() {
-        // Get all attendee requests for the current user
-        List<Attendee> myRequests = attendeeService.getMyRequests();
-        // Extract only events where the attendee is approved
-        return myRequests.stream()
-                .filter(attendee -> attendee.getEvent() != null && attendee.getStatus() == AttendanceStatus.APPROVED)
-                .map(Attendee::getEvent)
-                .distinct()
-                .collect(Collectors.toList());
+    public List<EventSummaryDto> getMyEvents(@RequestParam(required = false) String when,
+                                             @RequestParam(required = false) Integer page,
+                                             @RequestParam(required = false) Integer size) {
+        return attendeeService.getMyAttendingEvents(when, page, size);
     }
 
     @PutMapping("/credentials")
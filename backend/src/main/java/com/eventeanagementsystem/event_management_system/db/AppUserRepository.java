@@ -1,9 +1,15 @@
 package com.eventeanagementsystem.event_management_system.db;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
 
 public interface AppUserRepository extends JpaRepository<AppUser, Integer> {
+    // every authenticated request without a uid claim and every login resolves the user by email:
+    // the id comes from the query cache (invalidated by any app_user write), the row from the app_user region
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<AppUser> findByEmail(String email);
 }
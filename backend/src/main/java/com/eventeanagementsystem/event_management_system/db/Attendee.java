@@ -8,19 +8,27 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
+@NamedEntityGraph(name = Attendee.WITH_EVENT_AND_USER, attributeNodes = {
+        @NamedAttributeNode("event"),
+        @NamedAttributeNode("user")
+})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 public class Attendee {
+    public static final String WITH_EVENT_AND_USER = "Attendee.withEventAndUser";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // pooled sequence (see V6): ids are reserved 50 at a time, so inserts can be batched
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "attendee_seq")
+    @SequenceGenerator(name = "attendee_seq", sequenceName = "attendee_seq", allocationSize = 50)
     private Integer id;
 
     private String name;
     @NotBlank
     private String email;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "event_id")
     @JsonIgnoreProperties(value = {"attendees", "organizer"}, allowSetters = true)
     private Event event;
@@ -29,7 +37,7 @@ public class Attendee {
     @Column(nullable = false)
     private AttendanceStatus status = AttendanceStatus.PENDING;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private AppUser user;
 }
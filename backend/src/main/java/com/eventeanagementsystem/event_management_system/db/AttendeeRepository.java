@@ -1,15 +1,121 @@
 package com.eventeanagementsystem.event_management_system.db;
+import com.eventeanagementsystem.event_management_system.dto.AttendeeExportRow;
+import com.eventeanagementsystem.event_management_system.dto.EventSummaryDto;
+import com.eventeanagementsystem.event_management_system.dto.NotificationRecipient;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+// Attendee.event and Attendee.user are lazy: methods whose results are rendered fetch both (Attendee.WITH_EVENT_AND_USER),
+// the others load attendee rows only and must not touch the associations outside a transaction.
 public interface AttendeeRepository extends JpaRepository<Attendee, Integer> {
+    @Override
+    @EntityGraph(Attendee.WITH_EVENT_AND_USER)
+    List<Attendee> findAll();
+    @EntityGraph(Attendee.WITH_EVENT_AND_USER)
+    Optional<Attendee> findWithEventAndUserById(Integer id);
+    @EntityGraph(Attendee.WITH_EVENT_AND_USER)
     List<Attendee> findByEvent(Event event);
+    @EntityGraph(Attendee.WITH_EVENT_AND_USER)
     List<Attendee> findByEventIdAndStatus(Integer event_id, AttendanceStatus status);
+    @EntityGraph(Attendee.WITH_EVENT_AND_USER)
     List<Attendee> findByUserEmail(String email);
     List<Attendee> findByUserId(Integer user_id);
-    Optional<Attendee> findByUserEmailAndEventId(String email, Integer eventId);
+    // statuses of the user's requests for the event that block a new one (idx_attendee_user_event)
+    @Query("SELECT a.status FROM Attendee a WHERE a.user.id = :userId AND a.event.id = :eventId " +
+            "AND a.status IN (com.eventeanagementsystem.event_management_system.db.AttendanceStatus.PENDING, " +
+            "com.eventeanagementsystem.event_management_system.db.AttendanceStatus.APPROVED, " +
+            "com.eventeanagementsystem.event_management_system.db.AttendanceStatus.BANNED)")
+    List<AttendanceStatus> findBlockingStatuses(@Param("userId") Integer userId, @Param("eventId") Integer eventId);
     @Query("SELECT a.event, COUNT(a) FROM Attendee a GROUP BY a.event ORDER BY COUNT(a) DESC")
     List<Object[]> findEventsWithMostAttendees();
+    // attendee rows only (recipients of event-wide notifications are addressed by id)
     List<Attendee> findByEventId(Integer event_Id);
+    // booking state of an event for SeatReservationEngine: [user id, status] of requests that block a new one
+    @Query("SELECT a.user.id, a.status FROM Attendee a WHERE a.event.id = :eventId AND a.user IS NOT NULL " +
+            "AND a.status IN (com.eventeanagementsystem.event_management_system.db.AttendanceStatus.PENDING, " +
+            "com.eventeanagementsystem.event_management_system.db.AttendanceStatus.APPROVED, " +
+            "com.eventeanagementsystem.event_management_system.db.AttendanceStatus.BANNED)")
+    List<Object[]> findBlockingRequestsByEventId(@Param("eventId") Integer eventId);
+    // ---- Events the user attends (APPROVED requests), as catalog rows; idx_attendee_user_event on (user_id, ...) ----
+    // no DISTINCT needed: uq_attendee_active_request allows one APPROVED row per (user, event)
+    @Query("SELECT new com.eventeanagementsystem.event_management_system.dto.EventSummaryDto(" +
+            "e.id, e.name, e.date, e.location, e.imageUrl, e.maxAttendees, o.id, o.name) " +
+            "FROM Attendee a JOIN a.event e LEFT JOIN e.organizer o " +
+            "WHERE a.user.id = :userId " +
+            "AND a.status = com.eventeanagementsystem.event_management_system.db.AttendanceStatus.APPROVED " +
+            "ORDER BY e.date ASC NULLS LAST, e.id ASC")
+    List<EventSummaryDto> findAttendingEvents(@Param("userId") Integer userId, Pageable pageable);
+    // undated events have not happened yet, so they count as upcoming
+    @Query("SELECT new com.eventeanagementsystem.event_management_system.dto.EventSummaryDto(" +
+            "e.id, e.name, e.date, e.location, e.imageUrl, e.maxAttendees, o.id, o.name) " +
+            "FROM Attendee a JOIN a.event e LEFT JOIN e.organizer o " +
+            "WHERE a.user.id = :userId " +
+            "AND a.status = com.eventeanagementsystem.event_management_system.db.AttendanceStatus.APPROVED " +
+            "AND (e.date >= :now OR e.date IS NULL) " +
+            "ORDER BY e.date ASC NULLS LAST, e.id ASC")
+    List<EventSummaryDto> findUpcomingAttendingEvents(@Param("userId") Integer userId, @Param("now") Date now, Pageable pageable);
+    // most recent first
+    @Query("SELECT new com.eventeanagementsystem.event_management_system.dto.EventSummaryDto(" +
+            "e.id, e.name, e.date, e.location, e.imageUrl, e.maxAttendees, o.id, o.name) " +
+            "FROM Attendee a JOIN a.event e LEFT JOIN e.organizer o " +
+            "WHERE a.user.id = :userId " +
+            "AND a.status = com.eventeanagementsystem.event_management_system.db.AttendanceStatus.APPROVED " +
+            "AND e.date < :now " +
+            "ORDER BY e.date DESC, e.id DESC")
+    List<EventSummaryDto> findPastAttendingEvents(@Param("userId") Integer userId, @Param("now") Date now, Pageable pageable);
+    // attendee export: forward-only cursor fetching 500 rows per round trip (PostgreSQL only streams inside a
+    // transaction); a null status exports every attendee. Close the stream (try-with-resources) to release the cursor.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.eventeanagementsystem.event_management_system.dto.AttendeeExportRow(" +
+            "a.id, a.name, a.email, a.status, u.id, u.email) " +
+            "FROM Attendee a LEFT JOIN a.user u " +
+            "WHERE a.event.id = :eventId AND (:status IS NULL OR a.status = :status) " +
+            "ORDER BY a.id")
+    Stream<AttendeeExportRow> streamExportRows(@Param("eventId") Integer eventId, @Param("status") AttendanceStatus status);
+    // e-mail addresses on the event's list with the status of their request (bulk import deduplication)
+    @Query("SELECT a.email, a.status FROM Attendee a WHERE a.event.id = :eventId AND a.email IS NOT NULL")
+    List<Object[]> findEmailsAndStatusesByEventId(@Param("eventId") Integer eventId);
+    // ---- Event update fan-out (EventUpdateFanOut): recipients in id order, one page after the other ----
+    @Query("SELECT new com.eventeanagementsystem.event_management_system.dto.NotificationRecipient(" +
+            "a.id, a.name, COALESCE(u.email, a.email)) " +
+            "FROM Attendee a LEFT JOIN a.user u " +
+            "WHERE a.event.id = :eventId AND a.status IN :statuses AND a.id > :afterId " +
+            "ORDER BY a.id")
+    List<NotificationRecipient> findRecipientsAfter(@Param("eventId") Integer eventId,
+                                                    @Param("statuses") Collection<AttendanceStatus> statuses,
+                                                    @Param("afterId") Integer afterId,
+                                                    Pageable pageable);
+
+    // ---- Bulk decisions (AttendeeService.decideRequests) ----
+    // ids follow request order, so this is "the first N requests" of the given status
+    @Query("SELECT a.id FROM Attendee a WHERE a.event.id = :eventId AND a.status = :status ORDER BY a.id")
+    List<Integer> findIdsByEventIdAndStatus(@Param("eventId") Integer eventId, @Param("status") AttendanceStatus status, Pageable pageable);
+
+    // returns (id, status) of those attendees that belong to the event, locked in id order
+    // so concurrent bulk decisions over overlapping ids wait for each other instead of deadlocking
+    @Query(value = "SELECT id, status FROM attendee WHERE event_id = :eventId AND id IN (:ids) ORDER BY id FOR UPDATE",
+            nativeQuery = true)
+    List<Object[]> lockStatusesByEventIdAndIdIn(@Param("eventId") Integer eventId, @Param("ids") Collection<Integer> ids);
+
+    @Modifying
+    @Query("UPDATE Attendee a SET a.status = :to WHERE a.id IN :ids AND a.status = :from")
+    int updateStatuses(@Param("ids") Collection<Integer> ids, @Param("from") AttendanceStatus from, @Param("to") AttendanceStatus to);
+    // row lock so two status transitions of the same attendee can't both adjust the seat counter;
+    // no join fetch, FOR UPDATE must not extend to the (nullable) event and user rows
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Attendee a WHERE a.id = :id")
+    Optional<Attendee> findByIdForUpdate(@Param("id") Integer id);
 }
@@ -1,10 +1,13 @@
 package com.eventeanagementsystem.event_management_system.db;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.util.ArrayList;
@@ -12,12 +15,21 @@ import java.util.Date;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "event")
+@NamedEntityGraph(name = Event.WITH_ORGANIZER_AND_ATTENDEES, attributeNodes = {
+        @NamedAttributeNode(value = "organizer", subgraph = "organizer"),
+        @NamedAttributeNode("attendees")
+}, subgraphs = @NamedSubgraph(name = "organizer", attributeNodes = @NamedAttributeNode("user")))
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 public class Event {
+    public static final String WITH_ORGANIZER_AND_ATTENDEES = "Event.withOrganizerAndAttendees";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_seq")
+    @SequenceGenerator(name = "event_seq", sequenceName = "event_seq", allocationSize = 50)
     private Integer id;
     private String name;
     @CreationTimestamp
@@ -32,10 +44,16 @@ public class Event {
     @JsonIgnoreProperties(value = {"event", "user"}, allowSetters = true)
     private List<Attendee> attendees = new ArrayList<>();
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "organizer_id")
     @JsonIgnoreProperties(value = {"events", "user"}, allowSetters = true)
     private Organizer organizer;
 
     private Integer maxAttendees;
+
+    // Number of APPROVED attendees. Only changed through the conditional UPDATEs in EventRepository
+    // (never written back from this entity), so concurrent approvals cannot oversell.
+    @Column(name = "approved_count", columnDefinition = "integer not null default 0", insertable = false, updatable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private int approvedCount;
 }
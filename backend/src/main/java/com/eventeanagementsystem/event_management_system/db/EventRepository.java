@@ -1,13 +1,87 @@
 package com.eventeanagementsystem.event_management_system.db;
 
+import com.eventeanagementsystem.event_management_system.dto.EventSummaryDto;
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
+// Event.organizer and Event.attendees are lazy and open-in-view is off: methods whose results are rendered state
+// what they fetch; what is not fetched is rendered as an id (organizer) or left out (attendees).
+// findById loads the row only and is served from the second-level cache (region "event").
 public interface EventRepository extends JpaRepository<Event, Integer> {
+    // fetches the events only (organizer as id, no attendee list): the count is returned next to each event
     @Query("SELECT e, COUNT(a) FROM Event e JOIN e.attendees a GROUP BY e ORDER BY COUNT(a) DESC")
     List<Object[]> findEventsWithMostAttendees();
 
+    // organizer dashboard shows the attendee count of each event
+    @EntityGraph(Event.WITH_ORGANIZER_AND_ATTENDEES)
     List<Event> findByOrganizerId(Integer organizerId);
+
+    // ---- Approved-seat counter (returns 1 if the row changed, 0 otherwise) ----
+    // The native UPDATEs name the event table as their query space: Hibernate then evicts only the event cache
+    // region (approvedCount is cached with the event) instead of the whole second-level cache.
+
+    /** Takes one seat if the event is not full. A null max_attendees means unlimited. */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "event"))
+    @Query(value = "UPDATE event SET approved_count = approved_count + 1 " +
+            "WHERE id = :id AND (max_attendees IS NULL OR approved_count < max_attendees)", nativeQuery = true)
+    int tryReserveSeat(@Param("id") Integer eventId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "event"))
+    @Query(value = "UPDATE event SET approved_count = approved_count - 1 " +
+            "WHERE id = :id AND approved_count > 0", nativeQuery = true)
+    int releaseSeat(@Param("id") Integer eventId);
+
+    /** Takes {@code count} seats at once, only if that many are free. */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "event"))
+    @Query(value = "UPDATE event SET approved_count = approved_count + :count " +
+            "WHERE id = :id AND (max_attendees IS NULL OR approved_count + :count <= max_attendees)", nativeQuery = true)
+    int tryReserveSeats(@Param("id") Integer eventId, @Param("count") int count);
+
+    /**
+     * Locks the event row until the end of the transaction and returns its free seats
+     * (Integer.MAX_VALUE if unlimited, null if the event does not exist).
+     */
+    @Query(value = "SELECT CASE WHEN max_attendees IS NULL THEN 2147483647 " +
+            "ELSE GREATEST(max_attendees - approved_count, 0) END FROM event WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Integer lockFreeSeats(@Param("id") Integer eventId);
+
+    // ---- Catalog (keyset pagination on date, id; undated events come last, ordered by id) ----
+
+    @Query("SELECT new com.eventeanagementsystem.event_management_system.dto.EventSummaryDto(" +
+            "e.id, e.name, e.date, e.location, e.imageUrl, e.maxAttendees, o.id, o.name) " +
+            "FROM Event e LEFT JOIN e.organizer o " +
+            "WHERE e.date IS NOT NULL " +
+            "ORDER BY e.date ASC, e.id ASC")
+    List<EventSummaryDto> findCatalogFirstPage(Pageable pageable);
+
+    @Query("SELECT new com.eventeanagementsystem.event_management_system.dto.EventSummaryDto(" +
+            "e.id, e.name, e.date, e.location, e.imageUrl, e.maxAttendees, o.id, o.name) " +
+            "FROM Event e LEFT JOIN e.organizer o " +
+            "WHERE e.date > :date OR (e.date = :date AND e.id > :id) " +
+            "ORDER BY e.date ASC, e.id ASC")
+    List<EventSummaryDto> findCatalogPageAfter(@Param("date") Date date, @Param("id") Integer id, Pageable pageable);
+
+    @Query("SELECT new com.eventeanagementsystem.event_management_system.dto.EventSummaryDto(" +
+            "e.id, e.name, e.date, e.location, e.imageUrl, e.maxAttendees, o.id, o.name) " +
+            "FROM Event e LEFT JOIN e.organizer o " +
+            "WHERE e.date IS NULL AND e.id > :id " +
+            "ORDER BY e.id ASC")
+    List<EventSummaryDto> findUndatedCatalogPageAfter(@Param("id") Integer id, Pageable pageable);
+
+    @Query("SELECT e.id, e.description FROM Event e WHERE e.id IN :ids")
+    List<Object[]> findDescriptionsByIdIn(@Param("ids") Collection<Integer> ids);
 }
@@ -0,0 +1,71 @@
+package com.eventeanagementsystem.event_management_system.db;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * A notification email waiting to be composed and sent by NotificationDispatcher.
+ * Rows are written in the same transaction as the status change that triggers them,
+ * so a committed change always has its email queued (and nothing is queued on rollback).
+ *
+ * For EVENT_UPDATED, a row without attendeeId is the fan-out request for the whole event;
+ * EventUpdateFanOut sends it in chunks and adds a row per recipient only for the emails that failed.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "notification_outbox")
+public class NotificationOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private NotificationType type;
+
+    private Integer attendeeId;
+    private Integer eventId;
+
+    // extra data captured at enqueue time (e.g. the old name/date/location of an updated event)
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
+    private Map<String, String> payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    // when PENDING: earliest time to (re)try; when IN_PROGRESS: lease expiry after which another worker may reclaim it
+    @Column(nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(columnDefinition = "TEXT")
+    private String lastError;
+
+    @CreationTimestamp
+    private Instant createdAt;
+
+    public static NotificationOutbox pending(NotificationType type, Integer attendeeId, Integer eventId, Map<String, String> payload) {
+        NotificationOutbox row = new NotificationOutbox();
+        row.setType(type);
+        row.setAttendeeId(attendeeId);
+        row.setEventId(eventId);
+        row.setPayload(payload);
+        row.setStatus(OutboxStatus.PENDING);
+        row.setNextAttemptAt(Instant.now());
+        return row;
+    }
+}
@@ -0,0 +1,72 @@
+package com.eventeanagementsystem.event_management_system.db;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    /**
+     * Locks up to `limit` due rows. SKIP LOCKED lets several dispatcher workers (or instances)
+     * claim disjoint batches without blocking each other. IN_PROGRESS rows whose lease ran out
+     * (worker crashed mid-send) are due again.
+     */
+    @Query(value = "SELECT * FROM notification_outbox " +
+            "WHERE status IN ('PENDING', 'IN_PROGRESS') AND next_attempt_at <= :now " +
+            "ORDER BY next_attempt_at " +
+            "LIMIT :limit " +
+            "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<NotificationOutbox> lockDueBatch(@Param("now") Instant now, @Param("limit") int limit);
+
+    /**
+     * Renews the lease of a row this worker claimed. The attempt count identifies the claim: if the lease ran out and
+     * another worker claimed the row meanwhile, its count went up and nothing is updated (returns 0).
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "notification_outbox"))
+    @Query(value = "UPDATE notification_outbox SET next_attempt_at = :leasedUntil " +
+            "WHERE id = :id AND status = 'IN_PROGRESS' AND attempts = :attempts", nativeQuery = true)
+    int extendLease(@Param("id") Long id, @Param("attempts") int attempts, @Param("leasedUntil") Instant leasedUntil);
+
+    /** Records the outcome of a claim; like extendLease, does nothing (returns 0) if the row was claimed again since. */
+    @Modifying
+    @Query("UPDATE NotificationOutbox n SET n.status = :status, n.nextAttemptAt = :nextAttemptAt, n.lastError = :lastError " +
+            "WHERE n.id = :id AND n.attempts = :attempts")
+    int updateStatus(@Param("id") Long id,
+                     @Param("attempts") int attempts,
+                     @Param("status") OutboxStatus status,
+                     @Param("nextAttemptAt") Instant nextAttemptAt,
+                     @Param("lastError") String lastError);
+
+    /**
+     * The event-wide update of the event that is still waiting to be sent (never claimed by the dispatcher), locked
+     * so a claim cannot start while a new edit is merged into it. A claimed row is no longer PENDING with 0 attempts.
+     */
+    @Query(value = "SELECT * FROM notification_outbox " +
+            "WHERE type = 'EVENT_UPDATED' AND event_id = :eventId AND attendee_id IS NULL " +
+            "AND status = 'PENDING' AND attempts = 0 " +
+            "ORDER BY id LIMIT 1 " +
+            "FOR UPDATE", nativeQuery = true)
+    Optional<NotificationOutbox> lockWaitingEventUpdate(@Param("eventId") Integer eventId);
+
+    /** Queues one notification per attendee in a single INSERT ... SELECT; the event id is taken from the attendee row. */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "notification_outbox"))
+    @Query(value = "INSERT INTO notification_outbox (type, attendee_id, event_id, status, attempts, next_attempt_at, created_at) " +
+            "SELECT :type, a.id, a.event_id, 'PENDING', 0, now(), now() FROM attendee a WHERE a.id IN (:attendeeIds)",
+            nativeQuery = true)
+    int queueForAttendees(@Param("type") String type, @Param("attendeeIds") Collection<Integer> attendeeIds);
+
+    @Modifying
+    @Query("DELETE FROM NotificationOutbox n WHERE n.status = :status AND n.createdAt < :before")
+    int deleteByStatusCreatedBefore(@Param("status") OutboxStatus status, @Param("before") Instant before);
+}
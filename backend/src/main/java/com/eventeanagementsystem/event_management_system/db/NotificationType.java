@@ -0,0 +1,8 @@
+package com.eventeanagementsystem.event_management_system.db;
+
+public enum NotificationType {
+    BOOKING_APPROVED,
+    BOOKING_REJECTED,
+    ATTENDEE_REMOVED,
+    EVENT_UPDATED
+}
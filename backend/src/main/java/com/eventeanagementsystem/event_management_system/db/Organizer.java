@@ -1,6 +1,7 @@
 package com.eventeanagementsystem.event_management_system.db;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -8,16 +9,22 @@ import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "organizer")
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 public class Organizer {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "organizer_seq")
+    @SequenceGenerator(name = "organizer_seq", sequenceName = "organizer_seq", allocationSize = 50)
     private Integer id;
 
     @NotBlank(message = "Organizer name cannot be blank")
@@ -32,7 +39,14 @@ public class Organizer {
     @JsonIgnoreProperties(value = {"organizer", "attendees"}, allowSetters = true)
     private List<Event> events;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id") // FK to app_user table
     private AppUser user;
+
+    // The owning account's email, which the client compares with the logged-in user to offer edit and delete.
+    // Event responses leave the user out (it holds the password hash). Null when the query did not fetch the user.
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    public String getOwnerEmail() {
+        return user != null && Hibernate.isInitialized(user) ? user.getEmail() : null;
+    }
 }
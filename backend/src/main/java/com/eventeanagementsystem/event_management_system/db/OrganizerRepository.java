@@ -1,9 +1,16 @@
 package com.eventeanagementsystem.event_management_system.db;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
 
 public interface OrganizerRepository extends JpaRepository<Organizer, Integer> {
+    // auth-path lookups, served from the query cache until an organizer or app_user row changes
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Organizer> findByUserEmail(String email);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Optional<Organizer> findByUserId(Integer userId);
 }
@@ -0,0 +1,8 @@
+package com.eventeanagementsystem.event_management_system.db;
+
+public enum OutboxStatus {
+    PENDING,
+    IN_PROGRESS,
+    SENT,
+    DEAD
+}
@@ -0,0 +1,22 @@
+package com.eventeanagementsystem.event_management_system.dto;
+
+import com.eventeanagementsystem.event_management_system.db.AttendanceStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One line of an attendee export. Built by a JPQL constructor expression, so streamed rows are never
+ * managed entities and the persistence context does not grow with the event size.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AttendeeExportRow {
+    private Integer id;
+    private String name;
+    private String email;
+    private AttendanceStatus status;
+    private Integer userId;
+    private String userEmail;
+}
@@ -0,0 +1,36 @@
+package com.eventeanagementsystem.event_management_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk attendee import. Every data row is counted exactly once: imported, duplicate or rejected.
+ * Rows that were not imported are listed in {@code errors} with the reason, up to a configured number of entries.
+ */
+@Data
+@NoArgsConstructor
+public class AttendeeImportReport {
+    private int rows;
+    private int imported;
+    // already on the event's list, or earlier in the same file
+    private int duplicates;
+    // invalid, banned or over capacity
+    private int rejected;
+    private List<RowError> errors = new ArrayList<>();
+    private long durationMs;
+    private double rowsPerSecond;
+
+    /** A row that was not imported; {@code line} is its record number in the file, the header being line 1. */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class RowError {
+        private long line;
+        private String email;
+        private String message;
+    }
+}
@@ -0,0 +1,17 @@
+package com.eventeanagementsystem.event_management_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/** Selects the requests of a bulk approve/reject: either explicit attendee ids or the first N pending requests. */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkDecisionRequest {
+    private List<Integer> attendeeIds;
+    // the N oldest pending requests of the event
+    private Integer firstPending;
+}
@@ -0,0 +1,36 @@
+package com.eventeanagementsystem.event_management_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Outcome of a bulk approve/reject, one entry per selected attendee id in the order they were given. */
+@Data
+@NoArgsConstructor
+public class BulkDecisionResult {
+    private int decided;
+    private int skipped;
+    private List<Item> results = new ArrayList<>();
+
+    public enum Outcome {
+        APPROVED,
+        REJECTED,
+        // approvals only: the request is pending but no seat was left for it
+        EVENT_FULL,
+        // the attendee belongs to the event but its request is not pending (left unchanged)
+        NOT_PENDING,
+        // no attendee with this id on the event
+        NOT_FOUND
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Item {
+        private Integer attendeeId;
+        private Outcome outcome;
+    }
+}
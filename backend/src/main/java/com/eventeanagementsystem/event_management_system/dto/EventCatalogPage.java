@@ -0,0 +1,18 @@
+package com.eventeanagementsystem.event_management_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of the public event catalog. `nextCursor` is opaque to clients and is null on the last page.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventCatalogPage {
+    private List<EventSummaryDto> items;
+    private String nextCursor;
+}
@@ -0,0 +1,32 @@
+package com.eventeanagementsystem.event_management_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * Lightweight catalog view of an Event. Built straight from a JPQL constructor expression,
+ * so it never touches the attendee table and only carries the description when asked for.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventSummaryDto {
+    private Integer id;
+    private String name;
+    private Date date;
+    private String location;
+    private String imageUrl;
+    private Integer maxAttendees;
+    private Integer organizerId;
+    private String organizerName;
+    private String description;
+
+    // used by the catalog queries in EventRepository (description is filled in separately)
+    public EventSummaryDto(Integer id, String name, Date date, String location, String imageUrl,
+                           Integer maxAttendees, Integer organizerId, String organizerName) {
+        this(id, name, date, location, imageUrl, maxAttendees, organizerId, organizerName, null);
+    }
+}
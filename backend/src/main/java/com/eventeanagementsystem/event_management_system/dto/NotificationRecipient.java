@@ -0,0 +1,18 @@
+package com.eventeanagementsystem.event_management_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Who an event-wide notification goes to: the attendee's name and address (the account e-mail when the attendee
+ * has a user, the one given with the request otherwise). Read by a constructor expression, never a managed entity.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class NotificationRecipient {
+    private Integer attendeeId;
+    private String name;
+    private String email;
+}
@@ -0,0 +1,12 @@
+package com.eventeanagementsystem.event_management_system.exception;
+
+/**
+ * A request the client got wrong (malformed parameter, tampered token, ...); answered with 400.
+ * IllegalArgumentException stays reserved for "not found".
+ */
+public class BadRequestException extends RuntimeException {
+
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
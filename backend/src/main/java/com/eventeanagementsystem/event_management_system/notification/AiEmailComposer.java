@@ -2,73 +2,180 @@ package com.eventeanagementsystem.event_management_system.notification;
 
 import com.eventeanagementsystem.event_management_system.db.Attendee;
 import com.eventeanagementsystem.event_management_system.db.Event;
-import com.eventeanagementsystem.event_management_system.dto.OllamaResponse;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
 
 import java.text.SimpleDateFormat;
-import java.time.format.DateTimeFormatter;
-import java.util.HashMap;
-import java.util.Map;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
 
 @Service
 public class AiEmailComposer {
 
-    private final RestTemplate restTemplate;
-    private final String baseUrl;
-    private final String modelName;
+    private static final Logger log = LoggerFactory.getLogger(AiEmailComposer.class);
+
+    private final GenerationScheduler generationScheduler;
 
     // SimpleDateFormat is NOT thread-safe; in a Spring singleton service this can cause bugs.
     // Use per-call instance via formatEventDate().
     private static final String EVENT_DATE_PATTERN = "yyyy-MM-dd HH:mm";
 
+    // Bodies are generated with this merge field and personalized per recipient with a plain replace.
+    static final String RECIPIENT_PLACEHOLDER = "{{recipient_name}}";
+
+    private final AsyncCache<ComposedBodyKey, ComposedBody> composedBodies;
+    private final Counter generatedBodies;
+    private final Counter fallbackBodies;
+
     public AiEmailComposer(
-            RestTemplate restTemplate,
-            @Value("${ollama.base-url:http://localhost:11434}") String baseUrl,
-            @Value("${ollama.model:llama3.1}") String modelName
+            GenerationScheduler generationScheduler,
+            MeterRegistry meterRegistry,
+            @Value("${ollama.composed-cache.max-size:1000}") long composedCacheMaxSize,
+            @Value("${ollama.composed-cache.ttl-minutes:360}") long composedCacheTtlMinutes,
+            @Value("${ollama.composed-cache.fallback-ttl-seconds:60}") long fallbackTtlSeconds
     ) {
-        this.restTemplate = restTemplate;
-        this.baseUrl = baseUrl;
-        this.modelName = modelName;
+        this.generationScheduler = generationScheduler;
+        Duration generatedTtl = Duration.ofMinutes(composedCacheTtlMinutes);
+        Duration fallbackTtl = Duration.ofSeconds(fallbackTtlSeconds);
+        // a fallback body is only kept briefly, so generated text is used again soon after Ollama recovers
+        this.composedBodies = Caffeine.newBuilder()
+                .maximumSize(composedCacheMaxSize)
+                .expireAfter(new Expiry<ComposedBodyKey, ComposedBody>() {
+                    @Override
+                    public long expireAfterCreate(ComposedBodyKey key, ComposedBody body, long currentTime) {
+                        return (body.generated() ? generatedTtl : fallbackTtl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(ComposedBodyKey key, ComposedBody body, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, body, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(ComposedBodyKey key, ComposedBody body, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .buildAsync();
+        // hit/miss counts of the composed-body cache (one LLM generation per miss)
+        CaffeineCacheMetrics.monitor(meterRegistry, composedBodies.synchronous(), "composed_email_bodies");
+        this.generatedBodies = Counter.builder("email.body.composed").tag("source", "llm")
+                .description("Email bodies composed, by source").register(meterRegistry);
+        this.fallbackBodies = Counter.builder("email.body.composed").tag("source", "fallback")
+                .description("Email bodies composed, by source").register(meterRegistry);
     }
 
     public String composeApprovedEmailBody(Attendee attendee, Event event) {
-        String prompt = buildApprovedPrompt(attendee, event);
-        String fallback = defaultApprovedTemplate(attendee, event);
-        String text = callOllamaOrFallback(prompt, fallback);
-        return enforceSignature(text, event);
+        String body = composedBody("approved", event, List.of(), () -> {
+            String prompt = buildApprovedPrompt(RECIPIENT_PLACEHOLDER, event);
+            String fallback = defaultApprovedTemplate(RECIPIENT_PLACEHOLDER, event);
+            return callOllamaOrFallback(prompt, fallback, event, GenerationScheduler.Priority.INTERACTIVE);
+        });
+        return personalize(body, attendee);
     }
 
     public String composeRejectedEmailBody(Attendee attendee, Event event) {
-        String prompt = buildRejectedPrompt(attendee, event);
-        String fallback = defaultRejectedTemplate(attendee, event);
-        String text = callOllamaOrFallback(prompt, fallback);
-        return enforceSignature(text, event);
+        String body = composedBody("rejected", event, List.of(), () -> {
+            String prompt = buildRejectedPrompt(RECIPIENT_PLACEHOLDER, event);
+            String fallback = defaultRejectedTemplate(RECIPIENT_PLACEHOLDER, event);
+            return callOllamaOrFallback(prompt, fallback, event, GenerationScheduler.Priority.INTERACTIVE);
+        });
+        return personalize(body, attendee);
     }
 
     public String composeRemovedEmailBody(Attendee attendee, Event event) {
-        String prompt = buildRemovedPrompt(attendee, event);
-        String fallback = defaultRemovedTemplate(attendee, event);
-        String text = callOllamaOrFallback(prompt, fallback);
-        return enforceSignature(text, event);
+        String body = composedBody("removed", event, List.of(), () -> {
+            String prompt = buildRemovedPrompt(RECIPIENT_PLACEHOLDER, event);
+            String fallback = defaultRemovedTemplate(RECIPIENT_PLACEHOLDER, event);
+            return callOllamaOrFallback(prompt, fallback, event, GenerationScheduler.Priority.INTERACTIVE);
+        });
+        return personalize(body, attendee);
     }
 
     public String composeEventUpdatedEmailBody(Attendee attendee, Event event, String oldName, String oldDate, String oldLocation) {
-        String prompt = buildEventUpdatedPrompt(attendee, event, oldName, oldDate, oldLocation);
-        String fallback = defaultEventUpdatedTemplate(attendee, event, oldName, oldDate, oldLocation);
-        String text = callOllamaOrFallback(prompt, fallback);
-        return enforceSignature(text, event);
+        return composeEventUpdatedEmailBody(attendee != null ? attendee.getName() : null, event, oldName, oldDate, oldLocation);
+    }
+
+    public String composeEventUpdatedEmailBody(String recipientName, Event event, String oldName, String oldDate, String oldLocation) {
+        // the change-set is part of the key: every attendee of the same update shares one generation
+        String body = composedBody("event-updated", event, Arrays.asList(oldName, oldDate, oldLocation), () -> {
+            String prompt = buildEventUpdatedPrompt(RECIPIENT_PLACEHOLDER, event, oldName, oldDate, oldLocation);
+            String fallback = defaultEventUpdatedTemplate(RECIPIENT_PLACEHOLDER, event, oldName, oldDate, oldLocation);
+            return callOllamaOrFallback(prompt, fallback, event, GenerationScheduler.Priority.BULK);
+        });
+        return personalize(body, recipientName);
+    }
+
+    // ------------------------
+    // Compose once, personalize many
+    // ------------------------
+
+    /**
+     * Returns the signed, recipient-agnostic body for (kind, event details, change-set), generating it at most once.
+     * Concurrent callers for the same key wait for the single in-flight generation instead of starting their own.
+     * The generation runs on the first caller's thread, outside the cache's own locking, so a slow LLM call never
+     * holds up lookups of other keys.
+     */
+    private String composedBody(String kind, Event event, List<String> changeSet, Supplier<ComposedBody> generator) {
+        ComposedBodyKey key = new ComposedBodyKey(
+                kind,
+                event != null ? event.getId() : null,
+                Arrays.asList(
+                        safeEventName(event != null ? event.getName() : null),
+                        formatEventDate(event),
+                        event != null ? event.getLocation() : null),
+                changeSet);
+        CompletableFuture<ComposedBody> mine = new CompletableFuture<>();
+        CompletableFuture<ComposedBody> existing = composedBodies.get(key, (k, executor) -> mine); // counts the hit or miss
+        if (existing == mine) {
+            try {
+                ComposedBody composed = generator.get();
+                mine.complete(new ComposedBody(enforceSignature(composed.text(), event), composed.generated()));
+            } catch (RuntimeException | Error ex) {
+                // not cached: the next caller tries again
+                composedBodies.asMap().remove(key, mine);
+                mine.completeExceptionally(ex);
+                throw ex;
+            }
+        }
+        try {
+            return existing.join().text();
+        } catch (CompletionException ex) {
+            throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+        }
     }
 
+    private String personalize(String body, Attendee attendee) {
+        return personalize(body, attendee != null ? attendee.getName() : null);
+    }
+
+    private String personalize(String body, String recipientName) {
+        return body.replace(RECIPIENT_PLACEHOLDER, safePersonName(recipientName));
+    }
+
+    private record ComposedBodyKey(String kind, Integer eventId, List<String> eventDetails, List<String> changeSet) {}
+
+    private record ComposedBody(String text, boolean generated) {}
+
     // ------------------------
     // Prompt building
     // ------------------------
 
-    private String buildApprovedPrompt(Attendee attendee, Event event) {
-        String recipientName = safePersonName(attendee != null ? attendee.getName() : null);
+    String buildApprovedPrompt(String recipientName, Event event) {
         String eventName = safeEventName(event != null ? event.getName() : null);
         String eventDate = formatEventDate(event);
 
@@ -87,14 +194,14 @@ public class AiEmailComposer {
                 - Friendly but professional tone.
                 - Output ONLY the email body (no extra commentary).
                 - Do NOT use placeholders like [Event Name], [Your Name], [Your Team Name], etc.
+                - The recipient name above is a merge field: write it exactly as given, including the braces.
                 - End the email with this exact sign-off (exact wording and line breaks):
                   Best regards,
                   %s Team
                 """.formatted(recipientName, eventName, eventDate, eventName);
     }
 
-    private String buildRejectedPrompt(Attendee attendee, Event event) {
-        String recipientName = safePersonName(attendee != null ? attendee.getName() : null);
+    String buildRejectedPrompt(String recipientName, Event event) {
         String eventName = safeEventName(event != null ? event.getName() : null);
         String eventDate = formatEventDate(event);
 
@@ -113,14 +220,14 @@ public class AiEmailComposer {
                 - Keep it short (4–6 sentences).
                 - Output ONLY the email body (no extra commentary).
                 - Do NOT use placeholders like [Event Name], [Your Name], [Your Team Name], etc.
+                - The recipient name above is a merge field: write it exactly as given, including the braces.
                 - End the email with this exact sign-off (exact wording and line breaks):
                   Best regards,
                   %s Team
                 """.formatted(recipientName, eventName, eventDate, eventName);
     }
 
-    private String buildRemovedPrompt(Attendee attendee, Event event) {
-        String recipientName = safePersonName(attendee != null ? attendee.getName() : null);
+    String buildRemovedPrompt(String recipientName, Event event) {
         String eventName = safeEventName(event != null ? event.getName() : null);
         String eventDate = formatEventDate(event);
 
@@ -138,14 +245,14 @@ public class AiEmailComposer {
                 - Keep it polite and short (4–6 sentences).
                 - Output ONLY the email body (no extra commentary).
                 - Do NOT use placeholders like [Event Name], [Your Name], [Your Team Name], etc.
+                - The recipient name above is a merge field: write it exactly as given, including the braces.
                 - End the email with this exact sign-off (exact wording and line breaks):
                   Best regards,
                   %s Team
                 """.formatted(recipientName, eventName, eventDate, eventName);
     }
 
-    private String buildEventUpdatedPrompt(Attendee attendee, Event event, String oldName, String oldDate, String oldLocation) {
-        String recipientName = safePersonName(attendee != null ? attendee.getName() : null);
+    String buildEventUpdatedPrompt(String recipientName, Event event, String oldName, String oldDate, String oldLocation) {
         String newName = safeEventName(event != null ? event.getName() : null);
         String newDate = formatEventDate(event);
         String newLocation = safeField(event != null ? event.getLocation() : null, "the updated location");
@@ -172,6 +279,7 @@ public class AiEmailComposer {
                 - Keep it friendly and brief (5–7 sentences).
                 - Output ONLY the email body (no extra commentary).
                 - Do NOT use placeholders like [Event Name], [Your Name], [Your Team Name], etc.
+                - The recipient name above is a merge field: write it exactly as given, including the braces.
                 - End the email with this exact sign-off (exact wording and line breaks):
                   Best regards,
                   %s Team
@@ -191,41 +299,25 @@ public class AiEmailComposer {
     // Ollama call
     // ------------------------
 
-    private String callOllamaOrFallback(String prompt, String fallback) {
-        try {
-            Map<String, Object> request = new HashMap<>();
-            request.put("model", modelName);
-            request.put("prompt", prompt);
-            request.put("stream", false);
-
-            ResponseEntity<OllamaResponse> response = restTemplate.postForEntity(
-                    baseUrl + "/api/generate",
-                    request,
-                    OllamaResponse.class
-            );
-
-            OllamaResponse body = response.getBody();
-            if (body != null && body.getResponse() != null) {
-                String txt = body.getResponse().trim();
-                if (!txt.isBlank()) {
-                    return txt;
-                }
-            }
-        } catch (RestClientException ex) {
-            System.err.println("Ollama call failed, using fallback template: " + ex.getMessage());
-        } catch (Exception ex) {
-            // safety net: don't crash notification flow
-            System.err.println("Unexpected error composing email, using fallback template: " + ex.getMessage());
+    private ComposedBody callOllamaOrFallback(String prompt, String fallback, Event event, GenerationScheduler.Priority priority) {
+        // generation can stop as soon as the sign-off we enforce anyway has been written
+        String signOff = safeEventName(event != null ? event.getName() : null) + " Team";
+        Optional<String> generated = generationScheduler.generate(prompt, signOff, priority);
+        if (generated.isPresent() && !generated.get().contains(RECIPIENT_PLACEHOLDER)) {
+            // without the merge field every recipient would get the same greeting without their name
+            log.warn("Generated email body has no {} merge field, using fallback template", RECIPIENT_PLACEHOLDER);
+            generationScheduler.discard(prompt, signOff);
+            generated = Optional.empty();
         }
-        return fallback;
+        (generated.isPresent() ? generatedBodies : fallbackBodies).increment();
+        return generated.map(text -> new ComposedBody(text, true)).orElseGet(() -> new ComposedBody(fallback, false));
     }
 
     // ------------------------
     // Templates (fallback)
     // ------------------------
 
-    private String defaultApprovedTemplate(Attendee attendee, Event event) {
-        String name = safePersonName(attendee != null ? attendee.getName() : null);
+    String defaultApprovedTemplate(String name, Event event) {
         String eventName = safeEventName(event != null ? event.getName() : null);
         String eventDate = formatEventDate(event);
 
@@ -242,8 +334,7 @@ public class AiEmailComposer {
                 """.formatted(name, eventName, eventDate, eventName);
     }
 
-    private String defaultRejectedTemplate(Attendee attendee, Event event) {
-        String name = safePersonName(attendee != null ? attendee.getName() : null);
+    String defaultRejectedTemplate(String name, Event event) {
         String eventName = safeEventName(event != null ? event.getName() : null);
 
         return """
@@ -257,8 +348,7 @@ public class AiEmailComposer {
                 """.formatted(name, eventName, eventName);
     }
 
-    private String defaultRemovedTemplate(Attendee attendee, Event event) {
-        String name = safePersonName(attendee != null ? attendee.getName() : null);
+    String defaultRemovedTemplate(String name, Event event) {
         String eventName = safeEventName(event != null ? event.getName() : null);
         String eventDate = formatEventDate(event);
 
@@ -273,8 +363,7 @@ public class AiEmailComposer {
                 """.formatted(name, eventName, eventDate, eventName);
     }
 
-    private String defaultEventUpdatedTemplate(Attendee attendee, Event event, String oldName, String oldDate, String oldLocation) {
-        String name = safePersonName(attendee != null ? attendee.getName() : null);
+    String defaultEventUpdatedTemplate(String name, Event event, String oldName, String oldDate, String oldLocation) {
         String newName = safeEventName(event != null ? event.getName() : null);
         String newDate = formatEventDate(event);
         String newLocation = safeField(event != null ? event.getLocation() : null, "the updated location");
@@ -306,7 +395,7 @@ public class AiEmailComposer {
     // Signature enforcement (prevents [Event Name] Team forever)
     // ------------------------
 
-    private String enforceSignature(String text, Event event) {
+    String enforceSignature(String text, Event event) {
         String eventName = safeEventName(event != null ? event.getName() : null);
         String signature = "\n\nBest regards,\n" + eventName + " Team";
 
@@ -332,7 +421,7 @@ public class AiEmailComposer {
     // Helpers
     // ------------------------
 
-    private String formatEventDate(Event event) {
+    String formatEventDate(Event event) {
         if (event == null || event.getDate() == null) {
             return "the scheduled time";
         }
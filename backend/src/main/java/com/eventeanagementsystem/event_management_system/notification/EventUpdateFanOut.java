@@ -0,0 +1,144 @@
+package com.eventeanagementsystem.event_management_system.notification;
+
+import com.eventeanagementsystem.event_management_system.db.*;
+import com.eventeanagementsystem.event_management_system.dto.NotificationRecipient;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Sends an event-wide update (an EVENT_UPDATED outbox row without attendee) to the APPROVED and PENDING attendees.
+ * <ul>
+ *     <li>recipients are read as (id, name, e-mail) projections, notification.fan-out.chunk-size at a time,
+ *     so memory stays the same whatever the size of the event</li>
+ *     <li>each chunk is sent on virtual threads, at most notification.fan-out.smtp-concurrency emails at once
+ *     across all fan-outs; the body is composed once per update (see AiEmailComposer)</li>
+ *     <li>after each chunk the position is saved in the row's payload and its lease extended, so a fan-out that
+ *     is retried or taken over after a crash resumes after the last finished chunk; a fan-out whose row was
+ *     taken over meanwhile stops there</li>
+ *     <li>a recipient whose email fails gets its own outbox row and is retried alone</li>
+ * </ul>
+ */
+@Component
+public class EventUpdateFanOut {
+
+    private static final Logger log = LoggerFactory.getLogger(EventUpdateFanOut.class);
+
+    // payload key of the last attendee id whose chunk was sent
+    static final String AFTER_ATTENDEE_ID = "afterAttendeeId";
+    private static final List<AttendanceStatus> RECIPIENT_STATUSES = List.of(AttendanceStatus.APPROVED, AttendanceStatus.PENDING);
+
+    private final AttendeeRepository attendeeRepository;
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationService notificationService;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore smtpPermits;
+
+    @Value("${notification.fan-out.chunk-size:500}")
+    private int chunkSize;
+    @Value("${notification.outbox.lease-ms:300000}")
+    private long leaseMs;
+
+    public EventUpdateFanOut(AttendeeRepository attendeeRepository,
+                             NotificationOutboxRepository outboxRepository,
+                             NotificationService notificationService,
+                             TransactionTemplate transactionTemplate,
+                             @Value("${notification.fan-out.smtp-concurrency:8}") int smtpConcurrency) {
+        this.attendeeRepository = attendeeRepository;
+        this.outboxRepository = outboxRepository;
+        this.notificationService = notificationService;
+        this.transactionTemplate = transactionTemplate;
+        this.smtpPermits = new Semaphore(smtpConcurrency);
+    }
+
+    @PreDestroy
+    void stop() {
+        senders.shutdownNow();
+    }
+
+    /** Sends the update of {@code row} to every recipient after the saved position; returns the number of emails attempted. */
+    public int send(NotificationOutbox row, Event event) throws InterruptedException {
+        Map<String, String> payload = new HashMap<>(row.getPayload() != null ? row.getPayload() : Map.of());
+        String saved = payload.remove(AFTER_ATTENDEE_ID);
+        int afterId = saved != null ? Integer.parseInt(saved) : 0;
+        int attempted = 0;
+        while (true) {
+            List<NotificationRecipient> chunk = attendeeRepository.findRecipientsAfter(
+                    event.getId(), RECIPIENT_STATUSES, afterId, PageRequest.of(0, chunkSize));
+            if (chunk.isEmpty()) {
+                return attempted;
+            }
+            List<NotificationRecipient> failed = sendChunk(chunk, event, payload);
+            attempted += chunk.size();
+            afterId = chunk.get(chunk.size() - 1).getAttendeeId();
+            checkpoint(row, event.getId(), payload, afterId, failed);
+            if (chunk.size() < chunkSize) {
+                return attempted;
+            }
+        }
+    }
+
+    private List<NotificationRecipient> sendChunk(List<NotificationRecipient> chunk, Event event,
+                                                  Map<String, String> payload) throws InterruptedException {
+        List<Future<?>> sends = new ArrayList<>(chunk.size());
+        for (NotificationRecipient recipient : chunk) {
+            sends.add(senders.submit(() -> {
+                smtpPermits.acquire();
+                try {
+                    notificationService.sendEventUpdated(recipient.getName(), recipient.getEmail(), event, payload);
+                } finally {
+                    smtpPermits.release();
+                }
+                return null;
+            }));
+        }
+        List<NotificationRecipient> failed = new ArrayList<>();
+        for (int i = 0; i < sends.size(); i++) {
+            try {
+                sends.get(i).get();
+            } catch (ExecutionException ex) {
+                log.warn("Event update to attendee {} failed, queued for retry", chunk.get(i).getAttendeeId(), ex.getCause());
+                failed.add(chunk.get(i));
+            }
+        }
+        return failed;
+    }
+
+    private void checkpoint(NotificationOutbox row, Integer eventId, Map<String, String> payload, int afterId,
+                            List<NotificationRecipient> failed) {
+        Instant leasedUntil = Instant.now().plusMillis(leaseMs);
+        transactionTemplate.executeWithoutResult(tx -> {
+            // the lease ran out and another worker took the row over: it resumes from the last checkpoint, we stop
+            if (outboxRepository.extendLease(row.getId(), row.getAttempts(), leasedUntil) == 0) {
+                throw new IllegalStateException("Notification " + row.getId() + " was claimed by another worker");
+            }
+            List<NotificationOutbox> retries = new ArrayList<>(failed.size());
+            for (NotificationRecipient recipient : failed) {
+                retries.add(NotificationOutbox.pending(NotificationType.EVENT_UPDATED, recipient.getAttendeeId(), eventId, payload));
+            }
+            outboxRepository.saveAll(retries);
+            outboxRepository.findById(row.getId()).ifPresent(saved -> {
+                Map<String, String> progress = new HashMap<>(payload);
+                progress.put(AFTER_ATTENDEE_ID, Integer.toString(afterId));
+                saved.setPayload(progress);
+            });
+        });
+        row.setNextAttemptAt(leasedUntil);
+    }
+}
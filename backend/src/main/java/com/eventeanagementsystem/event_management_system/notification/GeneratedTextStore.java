@@ -0,0 +1,304 @@
+package com.eventeanagementsystem.event_management_system.notification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Generated texts kept on disk so a restart (or another instance on the same volume) doesn't generate them again:
+ * <ul>
+ *     <li>one file per text, named after the SHA-256 of (model, stop sequence, prompt) and written to a temp file
+ *     first, then moved into place, so readers never see a partial text and instances can share the directory</li>
+ *     <li>a file's modification time is its last use (a hit touches it), so every instance sees the same
+ *     least-recently-used order</li>
+ *     <li>the directory is rescanned at startup and every ollama.disk-cache.rescan-ms; once all texts, whoever
+ *     wrote them, take more than ollama.disk-cache.max-bytes the least recently used are deleted. Between rescans
+ *     the directory can only exceed the limit by what other instances wrote meanwhile</li>
+ * </ul>
+ * The store is off unless ollama.disk-cache.dir names a directory on a persistent volume.
+ * A prompt contains everything its text depends on (event name, date, location, changes), so an entry never needs
+ * to be invalidated: an edited event simply gives new prompts, and the old texts age out.
+ * Lookups are counted as ollama.disk-cache{result=hit|miss}; the size on disk is the ollama.disk-cache.bytes gauge.
+ */
+@Component
+public class GeneratedTextStore {
+
+    private static final Logger log = LoggerFactory.getLogger(GeneratedTextStore.class);
+
+    private static final String SUFFIX = ".txt";
+    private static final String TEMP_SUFFIX = ".tmp";
+    // a temp file this old was left behind by a crashed write
+    private static final Duration ABANDONED_TEMP_AGE = Duration.ofHours(1);
+
+    private final boolean enabled;
+    private final Path directory;
+    private final long maxBytes;
+    private final long rescanMs;
+    private final String modelName;
+    private final Counter hits;
+    private final Counter misses;
+
+    // key -> size in bytes, least recently used first; guarded by this
+    private final LinkedHashMap<String, Long> index = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+    private ScheduledExecutorService rescanner;
+
+    public GeneratedTextStore(MeterRegistry meterRegistry,
+                              @Value("${ollama.disk-cache.enabled:true}") boolean enabled,
+                              @Value("${ollama.disk-cache.dir:}") String directory,
+                              @Value("${ollama.disk-cache.max-bytes:67108864}") long maxBytes,
+                              @Value("${ollama.disk-cache.rescan-ms:60000}") long rescanMs,
+                              @Value("${ollama.model:llama3.1}") String modelName) {
+        if (enabled && directory.isBlank()) {
+            log.warn("ollama.disk-cache.dir is not set, generated texts are not kept across restarts");
+        }
+        this.enabled = enabled && !directory.isBlank();
+        this.directory = this.enabled ? Path.of(directory) : null;
+        this.maxBytes = maxBytes;
+        this.rescanMs = rescanMs;
+        this.modelName = modelName;
+        this.hits = Counter.builder("ollama.disk-cache")
+                .description("Generated text lookups on disk")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("ollama.disk-cache")
+                .description("Generated text lookups on disk")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("ollama.disk-cache.bytes", this, GeneratedTextStore::bytes)
+                .description("Size of the generated texts kept on disk")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        rescan();
+        rescanner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "generated-text-rescan");
+            thread.setDaemon(true);
+            return thread;
+        });
+        rescanner.scheduleWithFixedDelay(this::rescan, rescanMs, rescanMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (rescanner != null) {
+            rescanner.shutdownNow();
+        }
+    }
+
+    /** Re-reads the directory, including what other instances wrote, and deletes the oldest texts over the limit. */
+    void rescan() {
+        record Entry(String key, long size, FileTime lastUsed) {}
+        try {
+            Files.createDirectories(directory);
+            Instant abandonedBefore = Instant.now().minus(ABANDONED_TEMP_AGE);
+            List<Entry> entries = new ArrayList<>();
+            try (Stream<Path> files = Files.walk(directory, 2)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    String name = file.getFileName().toString();
+                    try {
+                        if (name.endsWith(SUFFIX) && Files.isRegularFile(file)) {
+                            entries.add(new Entry(keyOf(file), Files.size(file), Files.getLastModifiedTime(file)));
+                        } else if (name.endsWith(TEMP_SUFFIX)
+                                && Files.getLastModifiedTime(file).toInstant().isBefore(abandonedBefore)) {
+                            Files.deleteIfExists(file);
+                        }
+                    } catch (NoSuchFileException ex) {
+                        // deleted by another instance meanwhile
+                    }
+                }
+            }
+            entries.sort(Comparator.comparing(Entry::lastUsed).thenComparing(Entry::key));
+            synchronized (this) {
+                index.clear();
+                totalBytes = 0;
+                entries.forEach(entry -> add(entry.key(), entry.size()));
+            }
+            evict();
+        } catch (IOException | RuntimeException ex) {
+            // never let an exception cancel the periodic task
+            log.error("Could not scan generated text store at {}", directory, ex);
+        }
+    }
+
+    /** The text generated earlier for the same model, prompt and stop sequence, if it is still on disk. */
+    public Optional<String> get(String prompt, String stopSequence) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        String key = key(prompt, stopSequence);
+        Path file = pathOf(key);
+        try {
+            byte[] bytes = Files.readAllBytes(file);
+            // the modification time is the shared last-use time
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+            synchronized (this) {
+                // touches the entry so it's evicted last; adds it if another instance wrote it since the last scan
+                if (index.get(key) == null) {
+                    add(key, bytes.length);
+                }
+            }
+            hits.increment();
+            return Optional.of(new String(bytes, StandardCharsets.UTF_8));
+        } catch (NoSuchFileException ex) {
+            forget(key);
+            misses.increment();
+            return Optional.empty();
+        } catch (IOException ex) {
+            log.warn("Could not read generated text {}", file, ex);
+            misses.increment();
+            return Optional.empty();
+        }
+    }
+
+    /** Keeps a generated text; failures are only logged, the text was delivered anyway. */
+    public void put(String prompt, String stopSequence, String text) {
+        if (!enabled) {
+            return;
+        }
+        String key = key(prompt, stopSequence);
+        Path file = pathOf(key);
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        Path temp = null;
+        try {
+            Files.createDirectories(file.getParent());
+            temp = Files.createTempFile(file.getParent(), key, TEMP_SUFFIX);
+            Files.write(temp, bytes);
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            synchronized (this) {
+                forgetLocked(key);
+                add(key, bytes.length);
+            }
+            evict();
+        } catch (IOException ex) {
+            log.warn("Could not store generated text {}", file, ex);
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                    // best effort, removed by a later rescan
+                }
+            }
+        }
+    }
+
+    /** Deletes the text stored for the prompt, if any. */
+    public void remove(String prompt, String stopSequence) {
+        if (!enabled) {
+            return;
+        }
+        String key = key(prompt, stopSequence);
+        forget(key);
+        try {
+            Files.deleteIfExists(pathOf(key));
+        } catch (IOException ex) {
+            log.warn("Could not remove generated text {}", key, ex);
+        }
+    }
+
+    synchronized long bytes() {
+        return totalBytes;
+    }
+
+    String key(String prompt, String stopSequence) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            for (String part : new String[]{modelName, stopSequence != null ? stopSequence : "", prompt}) {
+                sha256.update(part.getBytes(StandardCharsets.UTF_8));
+                sha256.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(sha256.digest());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    // fanned out over 256 subdirectories so no directory gets too large to list
+    private Path pathOf(String key) {
+        return directory.resolve(key.substring(0, 2)).resolve(key + SUFFIX);
+    }
+
+    private static String keyOf(Path file) {
+        String name = file.getFileName().toString();
+        return name.substring(0, name.length() - SUFFIX.length());
+    }
+
+    private void evict() {
+        while (true) {
+            String eldest;
+            synchronized (this) {
+                if (totalBytes <= maxBytes || index.isEmpty()) {
+                    return;
+                }
+                Iterator<Map.Entry<String, Long>> it = index.entrySet().iterator();
+                Map.Entry<String, Long> entry = it.next();
+                eldest = entry.getKey();
+                totalBytes -= entry.getValue();
+                it.remove();
+            }
+            try {
+                // another instance may have evicted it already
+                Files.deleteIfExists(pathOf(eldest));
+            } catch (IOException ex) {
+                log.warn("Could not evict generated text {}", eldest, ex);
+            }
+        }
+    }
+
+    private synchronized void forget(String key) {
+        forgetLocked(key);
+    }
+
+    private void forgetLocked(String key) {
+        Long size = index.remove(key);
+        if (size != null) {
+            totalBytes -= size;
+        }
+    }
+
+    private void add(String key, long size) {
+        index.put(key, size);
+        totalBytes += size;
+    }
+}
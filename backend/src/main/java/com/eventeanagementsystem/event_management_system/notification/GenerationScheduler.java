@@ -0,0 +1,231 @@
+package com.eventeanagementsystem.event_management_system.notification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single entry point for LLM generations. Callers queue their prompt and wait for the result:
+ * <ul>
+ *     <li>a fixed number of workers (ollama.scheduler.concurrency, matched to what the model server can run at once)
+ *     take the queued prompts, INTERACTIVE ones before BULK ones and otherwise first come, first served</li>
+ *     <li>a prompt identical to one queued or running joins it instead of generating again; a BULK prompt joined by
+ *     an INTERACTIVE caller moves up to INTERACTIVE</li>
+ *     <li>a full queue or a wait longer than ollama.scheduler.max-wait-ms gives the caller an empty result,
+ *     like every other OllamaClient failure, so it uses its fallback template</li>
+ * </ul>
+ * Queue depth per priority, queue wait time and joined prompts are exported as ollama.queue.depth,
+ * ollama.queue.wait and ollama.generate.deduplicated.
+ */
+@Component
+public class GenerationScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(GenerationScheduler.class);
+
+    public enum Priority {
+        // someone is waiting for this email right now (approval, rejection, removal)
+        INTERACTIVE,
+        // part of a fan-out to many recipients (event updates)
+        BULK
+    }
+
+    private record Prompt(String text, String stopSequence) {}
+
+    private final OllamaClient ollamaClient;
+    private final GeneratedTextStore store;
+    private final MeterRegistry meterRegistry;
+    private final int concurrency;
+    private final int maxQueue;
+    private final long maxWaitMs;
+
+    private final PriorityBlockingQueue<Job> queue = new PriorityBlockingQueue<>();
+    // queued and running jobs by prompt; guarded by this
+    private final Map<Prompt, Job> jobs = new HashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Counter deduplicated;
+    private final List<Thread> workers = new ArrayList<>();
+
+    public GenerationScheduler(OllamaClient ollamaClient,
+                               GeneratedTextStore store,
+                               MeterRegistry meterRegistry,
+                               @Value("${ollama.scheduler.concurrency:2}") int concurrency,
+                               @Value("${ollama.scheduler.max-queue:1000}") int maxQueue,
+                               @Value("${ollama.scheduler.max-wait-ms:60000}") long maxWaitMs) {
+        this.ollamaClient = ollamaClient;
+        this.store = store;
+        this.meterRegistry = meterRegistry;
+        this.concurrency = concurrency;
+        this.maxQueue = maxQueue;
+        this.maxWaitMs = maxWaitMs;
+        for (Priority priority : Priority.values()) {
+            Gauge.builder("ollama.queue.depth", queue, q -> q.stream().filter(job -> job.priority == priority).count())
+                    .description("Generations waiting for a worker, by priority")
+                    .tag("priority", priority.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry);
+        }
+        this.deduplicated = Counter.builder("ollama.generate.deduplicated")
+                .description("Generations joined to an identical prompt already queued or running")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        for (int i = 0; i < concurrency; i++) {
+            Thread worker = new Thread(this::work, "ollama-scheduler-" + (i + 1));
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        workers.forEach(Thread::interrupt);
+    }
+
+    /**
+     * Returns the text stored for the prompt (see GeneratedTextStore), or generates it once a worker is free.
+     *
+     * @param stopSequence see OllamaClient.generate
+     * @return the generated text, or empty if the queue is full, the wait is too long or the generation failed
+     */
+    public Optional<String> generate(String prompt, String stopSequence, Priority priority) {
+        Optional<String> stored = store.get(prompt, stopSequence);
+        if (stored.isPresent()) {
+            return stored;
+        }
+        Job job = enqueue(new Prompt(prompt, stopSequence), priority);
+        if (job == null) {
+            return Optional.empty();
+        }
+        try {
+            return job.result.get(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            log.warn("No LLM worker within {} ms, using fallback template", maxWaitMs);
+            leave(job);
+            return Optional.empty();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            leave(job);
+            return Optional.empty();
+        } catch (ExecutionException ex) {
+            return Optional.empty();
+        }
+    }
+
+    /** Forgets a stored text the caller found unusable, so the next call for the prompt generates it again. */
+    public void discard(String prompt, String stopSequence) {
+        store.remove(prompt, stopSequence);
+    }
+
+    private synchronized Job enqueue(Prompt prompt, Priority priority) {
+        Job existing = jobs.get(prompt);
+        if (existing != null) {
+            existing.waiters++;
+            deduplicated.increment();
+            // the priority is part of the queue order: re-queue the job to change it
+            if (priority.compareTo(existing.priority) < 0 && queue.remove(existing)) {
+                existing.priority = priority;
+                queue.add(existing);
+            }
+            return existing;
+        }
+        if (queue.size() >= maxQueue) {
+            record(priority, "rejected", 0);
+            return null;
+        }
+        Job job = new Job(prompt, priority, sequence.incrementAndGet());
+        jobs.put(prompt, job);
+        queue.add(job);
+        return job;
+    }
+
+    // a caller gave up: a job nobody waits for any more is dropped unless it already runs
+    private synchronized void leave(Job job) {
+        if (--job.waiters == 0 && queue.remove(job)) {
+            jobs.remove(job.prompt, job);
+            record(job.priority, "abandoned", System.nanoTime() - job.enqueuedAt);
+            job.result.complete(Optional.empty());
+        }
+    }
+
+    private void work() {
+        while (!Thread.currentThread().isInterrupted()) {
+            Job job;
+            try {
+                job = queue.take();
+            } catch (InterruptedException ex) {
+                return;
+            }
+            record(job.priority, "started", System.nanoTime() - job.enqueuedAt);
+            Optional<String> text = Optional.empty();
+            try {
+                text = ollamaClient.generate(job.prompt.text(), job.prompt.stopSequence());
+                text.ifPresent(generated -> store.put(job.prompt.text(), job.prompt.stopSequence(), generated));
+            } catch (RuntimeException ex) {
+                log.error("LLM generation failed", ex);
+            } finally {
+                synchronized (this) {
+                    jobs.remove(job.prompt, job);
+                }
+                job.result.complete(text);
+            }
+        }
+    }
+
+    private void record(Priority priority, String outcome, long nanos) {
+        Timer.builder("ollama.queue.wait")
+                .description("Time generations spent queued, by priority and how the wait ended")
+                .tag("priority", priority.name().toLowerCase(Locale.ROOT))
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    int queued() {
+        return queue.size();
+    }
+
+    private static final class Job implements Comparable<Job> {
+        final Prompt prompt;
+        final long sequence;
+        final long enqueuedAt = System.nanoTime();
+        final CompletableFuture<Optional<String>> result = new CompletableFuture<>();
+        // both guarded by the scheduler
+        Priority priority;
+        int waiters = 1;
+
+        Job(Prompt prompt, Priority priority, long sequence) {
+            this.prompt = prompt;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Job other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.eventeanagementsystem.event_management_system.notification;
+
+import com.eventeanagementsystem.event_management_system.db.*;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Background workers draining the notification outbox.
+ * Each worker claims a batch of due rows (SELECT ... FOR UPDATE SKIP LOCKED), leases them, and then composes
+ * and sends outside of any transaction so no DB connection is held during the LLM call or SMTP.
+ * The lease is renewed right before each row is processed, so rows late in a batch don't expire while the ones
+ * before them are sent; a row whose lease ran out and was claimed by another worker is skipped.
+ * Failures are retried with exponential backoff; after max-attempts the row is parked as DEAD.
+ */
+@Component
+@ConditionalOnProperty(name = "notification.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class NotificationDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final AttendeeRepository attendeeRepository;
+    private final EventRepository eventRepository;
+    private final NotificationService notificationService;
+    private final TransactionTemplate transactionTemplate;
+    private final EventUpdateFanOut eventUpdateFanOut;
+
+    @Value("${notification.outbox.workers:2}")
+    private int workers;
+    @Value("${notification.outbox.batch-size:20}")
+    private int batchSize;
+    @Value("${notification.outbox.poll-interval-ms:1000}")
+    private long pollIntervalMs;
+    @Value("${notification.outbox.max-attempts:6}")
+    private int maxAttempts;
+    @Value("${notification.outbox.backoff-ms:5000}")
+    private long backoffMs;
+    @Value("${notification.outbox.lease-ms:300000}")
+    private long leaseMs;
+    @Value("${notification.outbox.retention-hours:168}")
+    private long retentionHours;
+
+    private ScheduledExecutorService scheduler;
+
+    public NotificationDispatcher(NotificationOutboxRepository outboxRepository,
+                                  AttendeeRepository attendeeRepository,
+                                  EventRepository eventRepository,
+                                  NotificationService notificationService,
+                                  TransactionTemplate transactionTemplate,
+                                  EventUpdateFanOut eventUpdateFanOut) {
+        this.outboxRepository = outboxRepository;
+        this.attendeeRepository = attendeeRepository;
+        this.eventRepository = eventRepository;
+        this.notificationService = notificationService;
+        this.transactionTemplate = transactionTemplate;
+        this.eventUpdateFanOut = eventUpdateFanOut;
+    }
+
+    @PostConstruct
+    void start() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        scheduler = Executors.newScheduledThreadPool(workers + 1, runnable -> {
+            Thread thread = new Thread(runnable, "notification-dispatcher-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < workers; i++) {
+            scheduler.scheduleWithFixedDelay(this::drain, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+        }
+        scheduler.scheduleWithFixedDelay(this::purgeSent, 1, 1, TimeUnit.HOURS);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        scheduler.shutdown();
+        scheduler.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /** Keeps claiming batches until the outbox has nothing due. */
+    void drain() {
+        try {
+            List<NotificationOutbox> batch;
+            do {
+                batch = claimBatch();
+                for (NotificationOutbox row : batch) {
+                    if (extendLease(row)) {
+                        process(row);
+                    }
+                }
+            } while (batch.size() == batchSize && !scheduler.isShutdown());
+        } catch (Exception ex) {
+            // never let an exception cancel the periodic task
+            log.error("Notification dispatcher poll failed", ex);
+        }
+    }
+
+    private List<NotificationOutbox> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            List<NotificationOutbox> rows = outboxRepository.lockDueBatch(now, batchSize);
+            for (NotificationOutbox row : rows) {
+                row.setStatus(OutboxStatus.IN_PROGRESS);
+                row.setAttempts(row.getAttempts() + 1);
+                row.setNextAttemptAt(now.plusMillis(leaseMs));
+            }
+            return rows;
+        });
+    }
+
+    // false if another worker claimed the row after its lease ran out: it is theirs now
+    private boolean extendLease(NotificationOutbox row) {
+        Instant leasedUntil = Instant.now().plusMillis(leaseMs);
+        Integer renewed = transactionTemplate.execute(tx ->
+                outboxRepository.extendLease(row.getId(), row.getAttempts(), leasedUntil));
+        if (renewed == null || renewed == 0) {
+            log.warn("Notification {} was claimed by another worker, skipping it", row.getId());
+            return false;
+        }
+        row.setNextAttemptAt(leasedUntil);
+        return true;
+    }
+
+    private void process(NotificationOutbox row) {
+        try {
+            if (row.getType() == NotificationType.EVENT_UPDATED && row.getAttendeeId() == null) {
+                fanOutEventUpdate(row);
+                markDone(row, OutboxStatus.SENT, null);
+            } else {
+                deliver(row);
+                markDone(row, OutboxStatus.SENT, null);
+            }
+        } catch (UndeliverableException ex) {
+            markDone(row, OutboxStatus.DEAD, ex.getMessage());
+        } catch (Exception ex) {
+            markFailed(row, ex);
+        }
+    }
+
+    private void deliver(NotificationOutbox row) {
+        // the recipient address is read from attendee.user after the lookup returns, so fetch it with the attendee
+        Attendee attendee = attendeeRepository.findWithEventAndUserById(row.getAttendeeId())
+                .orElseThrow(() -> new UndeliverableException("Attendee no longer exists: " + row.getAttendeeId()));
+        Event event = eventRepository.findById(row.getEventId())
+                .orElseThrow(() -> new UndeliverableException("Event no longer exists: " + row.getEventId()));
+
+        switch (row.getType()) {
+            case BOOKING_APPROVED -> notificationService.sendBookingApproved(attendee, event);
+            case BOOKING_REJECTED -> notificationService.sendBookingRejected(attendee, event);
+            case ATTENDEE_REMOVED -> notificationService.sendAttendeeRemoved(attendee, event);
+            case EVENT_UPDATED -> notificationService.sendEventUpdated(attendee, event, row.getPayload());
+        }
+    }
+
+    /** Event-wide update row: sent in chunks by EventUpdateFanOut, failed recipients come back as rows of their own. */
+    private void fanOutEventUpdate(NotificationOutbox row) throws InterruptedException {
+        Event event = eventRepository.findById(row.getEventId())
+                .orElseThrow(() -> new UndeliverableException("Event no longer exists: " + row.getEventId()));
+        if (!NotificationService.changedSince(row.getPayload(), event)) {
+            return; // the merged edits cancelled each other out
+        }
+        eventUpdateFanOut.send(row, event);
+    }
+
+    private void markDone(NotificationOutbox row, OutboxStatus status, String error) {
+        transactionTemplate.executeWithoutResult(tx ->
+                outboxRepository.updateStatus(row.getId(), row.getAttempts(), status, row.getNextAttemptAt(), error));
+    }
+
+    private void markFailed(NotificationOutbox row, Exception ex) {
+        String error = ex.getClass().getSimpleName() + ": " + ex.getMessage();
+        if (row.getAttempts() >= maxAttempts) {
+            log.error("Notification {} dead after {} attempts", row.getId(), row.getAttempts(), ex);
+            markDone(row, OutboxStatus.DEAD, error);
+            return;
+        }
+        // exponential backoff: backoff, 2x, 4x, ... (capped at 1h)
+        long delay = Math.min(backoffMs << Math.min(row.getAttempts() - 1, 20), Duration.ofHours(1).toMillis());
+        Instant retryAt = Instant.now().plusMillis(delay);
+        transactionTemplate.executeWithoutResult(tx ->
+                outboxRepository.updateStatus(row.getId(), row.getAttempts(), OutboxStatus.PENDING, retryAt, error));
+    }
+
+    void purgeSent() {
+        try {
+            Instant before = Instant.now().minus(Duration.ofHours(retentionHours));
+            transactionTemplate.executeWithoutResult(tx ->
+                    outboxRepository.deleteByStatusCreatedBefore(OutboxStatus.SENT, before));
+        } catch (Exception ex) {
+            log.error("Notification outbox purge failed", ex);
+        }
+    }
+
+    /** The notification can never be sent (its attendee or event is gone): park it without retrying. */
+    private static class UndeliverableException extends RuntimeException {
+        UndeliverableException(String message) {
+            super(message);
+        }
+    }
+}
@@ -2,26 +2,152 @@ package com.eventeanagementsystem.event_management_system.notification;
 
 import com.eventeanagementsystem.event_management_system.db.Attendee;
 import com.eventeanagementsystem.event_management_system.db.Event;
+import com.eventeanagementsystem.event_management_system.db.NotificationOutbox;
+import com.eventeanagementsystem.event_management_system.db.NotificationOutboxRepository;
+import com.eventeanagementsystem.event_management_system.db.NotificationType;
 import com.eventeanagementsystem.event_management_system.service.EmailService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
 @Service
 public class NotificationService {
+    private static final Logger log = LoggerFactory.getLogger(NotificationService.class);
+
+    static final String OLD_NAME = "oldName";
+    static final String OLD_DATE = "oldDate";
+    static final String OLD_LOCATION = "oldLocation";
+    private static final String EVENT_DATE_PATTERN = "yyyy-MM-dd HH:mm";
+
     private final EmailService emailService;
     private final AiEmailComposer aiEmailComposer;
-
-    public NotificationService(EmailService emailService, AiEmailComposer aiEmailComposer) {
+    private final NotificationOutboxRepository outboxRepository;
+    private final Counter eventUpdatesQueued;
+    private final Counter eventUpdatesCoalesced;
+    private final Counter eventUpdatesUnchanged;
+    private final Counter skippedWithoutEmail;
+
+    @Value("${notification.event-update.debounce-ms:60000}")
+    private long eventUpdateDebounceMs;
+    @Value("${notification.event-update.max-delay-ms:600000}")
+    private long eventUpdateMaxDelayMs;
+
+    public NotificationService(EmailService emailService,
+                               AiEmailComposer aiEmailComposer,
+                               NotificationOutboxRepository outboxRepository,
+                               MeterRegistry meterRegistry) {
         this.emailService = emailService;
         this.aiEmailComposer = aiEmailComposer;
+        this.outboxRepository = outboxRepository;
+        // queued: a new update email; coalesced: merged into one still waiting; unchanged: nothing attendees see changed
+        this.eventUpdatesQueued = Counter.builder("notification.event_update").tag("outcome", "queued")
+                .description("Event updates by what happened to their email").register(meterRegistry);
+        this.eventUpdatesCoalesced = Counter.builder("notification.event_update").tag("outcome", "coalesced")
+                .description("Event updates by what happened to their email").register(meterRegistry);
+        this.eventUpdatesUnchanged = Counter.builder("notification.event_update").tag("outcome", "unchanged")
+                .description("Event updates by what happened to their email").register(meterRegistry);
+        this.skippedWithoutEmail = Counter.builder("notification.skipped").tag("reason", "no_email")
+                .description("Notifications not sent because the recipient has no email address").register(meterRegistry);
+    }
+
+    // ------------------------
+    // Queueing (called from the request path, joins the caller's transaction)
+    // ------------------------
+
+    public void queueBookingApproved(Attendee attendee, Event event) {
+        queue(NotificationType.BOOKING_APPROVED, attendee.getId(), event.getId(), null);
+    }
+
+    public void queueBookingRejected(Attendee attendee, Event event) {
+        queue(NotificationType.BOOKING_REJECTED, attendee.getId(), event.getId(), null);
+    }
+
+    /** Bulk decisions: one outbox row per attendee, written with a single statement. */
+    public void queueBookingApproved(Collection<Integer> attendeeIds) {
+        outboxRepository.queueForAttendees(NotificationType.BOOKING_APPROVED.name(), attendeeIds);
+    }
+
+    public void queueBookingRejected(Collection<Integer> attendeeIds) {
+        outboxRepository.queueForAttendees(NotificationType.BOOKING_REJECTED.name(), attendeeIds);
+    }
+
+    public void queueAttendeeRemoved(Attendee attendee, Event event) {
+        // event id is recorded here because removal clears attendee.event
+        queue(NotificationType.ATTENDEE_REMOVED, attendee.getId(), event.getId(), null);
+    }
+
+    /**
+     * Queues the "event updated" email, unless name, date and location (what attendees are told about) are unchanged.
+     * Edits made while an update of the same event is still waiting are merged into it: the waiting row keeps the
+     * values from before the first edit and is sent once the event has been left alone for
+     * notification.event-update.debounce-ms, but no later than notification.event-update.max-delay-ms after the first edit.
+     * The caller must have written the event row already, so concurrent updates of one event queue one after the other.
+     */
+    public void queueEventUpdated(Event event, String oldName, Date oldDate, String oldLocation) {
+        Map<String, String> payload = new HashMap<>();
+        payload.put(OLD_NAME, oldName);
+        payload.put(OLD_DATE, formatDate(oldDate));
+        payload.put(OLD_LOCATION, oldLocation);
+        if (!changedSince(payload, event)) {
+            eventUpdatesUnchanged.increment();
+            return;
+        }
+        Instant sendAt = Instant.now().plusMillis(eventUpdateDebounceMs);
+        Optional<NotificationOutbox> waiting = outboxRepository.lockWaitingEventUpdate(event.getId());
+        if (waiting.isPresent()) {
+            NotificationOutbox row = waiting.get();
+            Instant latest = row.getCreatedAt() != null ? row.getCreatedAt().plusMillis(eventUpdateMaxDelayMs) : sendAt;
+            row.setNextAttemptAt(sendAt.isBefore(latest) ? sendAt : latest);
+            eventUpdatesCoalesced.increment();
+            return;
+        }
+        // no attendee: sent to the whole event by EventUpdateFanOut
+        NotificationOutbox row = NotificationOutbox.pending(NotificationType.EVENT_UPDATED, null, event.getId(), payload);
+        row.setNextAttemptAt(sendAt);
+        outboxRepository.save(row);
+        eventUpdatesQueued.increment();
+    }
+
+    /** Whether the name, date or location of the event differ from the values recorded in an EVENT_UPDATED payload. */
+    public static boolean changedSince(Map<String, String> payload, Event event) {
+        return payload == null
+                || !Objects.equals(payload.get(OLD_NAME), event.getName())
+                || !Objects.equals(payload.get(OLD_DATE), formatDate(event.getDate()))
+                || !Objects.equals(payload.get(OLD_LOCATION), event.getLocation());
+    }
+
+    // minute precision, as the emails show it (and whatever Date subclass the value was loaded as)
+    static String formatDate(Date date) {
+        return date != null ? new SimpleDateFormat(EVENT_DATE_PATTERN).format(date) : null;
     }
 
+    private void queue(NotificationType type, Integer attendeeId, Integer eventId, Map<String, String> payload) {
+        outboxRepository.save(NotificationOutbox.pending(type, attendeeId, eventId, payload));
+    }
+
+    // ------------------------
+    // Delivery (called by NotificationDispatcher, off the request path)
+    // ------------------------
+
     public void sendBookingApproved(Attendee attendee, Event event) {
         String to = attendee.getUser() != null
                 ? attendee.getUser().getEmail()
                 : attendee.getEmail(); // fallback if you store direct email on Attendee
 
         if (to == null || to.isBlank()) {
-            System.err.println("No email available for attendee id=" + attendee.getId());
+            skipWithoutEmail(attendee, "booking approved");
             return;
         }
 
@@ -37,7 +163,7 @@ public class NotificationService {
                 : attendee.getEmail();
 
         if (to == null || to.isBlank()) {
-            System.err.println("No email available for attendee id=" + attendee.getId());
+            skipWithoutEmail(attendee, "booking rejected");
             return;
         }
 
@@ -53,7 +179,7 @@ public class NotificationService {
                 : attendee.getEmail();
 
         if (to == null || to.isBlank()) {
-            System.err.println("No email available for attendee id=" + attendee.getId());
+            skipWithoutEmail(attendee, "attendee removed");
             return;
         }
 
@@ -62,21 +188,30 @@ public class NotificationService {
         emailService.sendEmail(to, subject, body);
     }
 
-    public void sendEventUpdated(Event event, String oldName, String oldDate, String oldLocation) {
-        if (event.getAttendees() == null || event.getAttendees().isEmpty()) {
+    public void sendEventUpdated(Attendee attendee, Event event, Map<String, String> payload) {
+        String to = attendee.getUser() != null
+                ? attendee.getUser().getEmail()
+                : attendee.getEmail();
+        sendEventUpdated(attendee.getName(), to, event, payload);
+    }
+
+    /** Fan-out variant (see EventUpdateFanOut): the recipient comes from a projection row, not an attendee entity. */
+    public void sendEventUpdated(String recipientName, String to, Event event, Map<String, String> payload) {
+        if (to == null || to.isBlank()) {
+            skippedWithoutEmail.increment();
             return;
         }
-        for (Attendee attendee : event.getAttendees()) {
-            String to = attendee.getUser() != null
-                    ? attendee.getUser().getEmail()
-                    : attendee.getEmail();
-            if (to == null || to.isBlank()) {
-                continue;
-            }
-            String subject = "Event updated: " + event.getName();
-            String body = aiEmailComposer.composeEventUpdatedEmailBody(attendee, event, oldName, oldDate, oldLocation);
-            emailService.sendEmail(to, subject, body);
-        }
+        String oldName = payload != null ? payload.get(OLD_NAME) : null;
+        String oldDate = payload != null ? payload.get(OLD_DATE) : null;
+        String oldLocation = payload != null ? payload.get(OLD_LOCATION) : null;
+
+        String subject = "Event updated: " + event.getName();
+        String body = aiEmailComposer.composeEventUpdatedEmailBody(recipientName, event, oldName, oldDate, oldLocation);
+        emailService.sendEmail(to, subject, body);
     }
-}
 
+    private void skipWithoutEmail(Attendee attendee, String notification) {
+        log.warn("No email available for attendee id={}, {} notification not sent", attendee.getId(), notification);
+        skippedWithoutEmail.increment();
+    }
+}
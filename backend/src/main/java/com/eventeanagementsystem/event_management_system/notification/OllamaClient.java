@@ -0,0 +1,259 @@
+package com.eventeanagementsystem.event_management_system.notification;
+
+import com.eventeanagementsystem.event_management_system.dto.OllamaResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Ollama /api/generate client with the guards a slow local model needs:
+ * <ul>
+ *     <li>pooled keep-alive connections (shared HttpClient)</li>
+ *     <li>a per-call deadline covering connect, generation and body</li>
+ *     <li>a bounded number of in-flight generations (callers that can't get a slot give up quickly)</li>
+ *     <li>a circuit breaker: while open, no network call is made at all</li>
+ *     <li>streaming mode that stops reading as soon as the expected sign-off has been produced</li>
+ * </ul>
+ * Every failure mode returns an empty result so callers can use their fallback template.
+ */
+@Component
+public class OllamaClient {
+
+    private static final Logger log = LoggerFactory.getLogger(OllamaClient.class);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final URI generateUri;
+    private final String modelName;
+    private final Duration requestTimeout;
+    private final boolean stream;
+    private final long acquireTimeoutMs;
+    private final int maxInFlight;
+    private final Semaphore inFlight;
+    private final CircuitBreaker breaker;
+    private final MeterRegistry meterRegistry;
+
+    public OllamaClient(
+            HttpClient ollamaHttpClient,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${ollama.base-url:http://localhost:11434}") String baseUrl,
+            @Value("${ollama.model:llama3.1}") String modelName,
+            @Value("${ollama.request-timeout-ms:30000}") long requestTimeoutMs,
+            @Value("${ollama.stream:true}") boolean stream,
+            @Value("${ollama.max-in-flight:4}") int maxInFlight,
+            @Value("${ollama.acquire-timeout-ms:2000}") long acquireTimeoutMs,
+            @Value("${ollama.breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${ollama.breaker.open-ms:30000}") long openMs
+    ) {
+        this.httpClient = ollamaHttpClient;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.generateUri = URI.create(baseUrl + "/api/generate");
+        this.modelName = modelName;
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMs);
+        this.stream = stream;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.breaker = new CircuitBreaker(failureThreshold, openMs);
+
+        Gauge.builder("ollama.circuit.state", breaker, b -> b.state().ordinal())
+                .description("Ollama circuit breaker state: 0=closed, 1=half-open, 2=open")
+                .register(meterRegistry);
+        Gauge.builder("ollama.in_flight", inFlight, s -> maxInFlight - s.availablePermits())
+                .description("Ollama generations currently running")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Generates text for the prompt.
+     *
+     * @param stopSequence text that marks the end of a useful answer (e.g. the sign-off); may be null
+     * @return the generated text, or empty if Ollama is unavailable, too slow, saturated or the breaker is open
+     */
+    public Optional<String> generate(String prompt, String stopSequence) {
+        boolean acquired;
+        try {
+            acquired = inFlight.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+        if (!acquired) {
+            record("rejected", 0);
+            return Optional.empty();
+        }
+        try {
+            if (!breaker.allowRequest()) {
+                record("circuit_open", 0);
+                return Optional.empty();
+            }
+            long start = System.nanoTime();
+            try {
+                String text = stream ? generateStreaming(prompt, stopSequence) : generateBlocking(prompt, stopSequence);
+                breaker.onSuccess();
+                record("success", System.nanoTime() - start);
+                return Optional.ofNullable(text).map(String::trim).filter(t -> !t.isBlank());
+            } catch (TimeoutException ex) {
+                breaker.onFailure();
+                record("timeout", System.nanoTime() - start);
+                log.warn("Ollama call exceeded {} ms, using fallback template", requestTimeout.toMillis());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                record("interrupted", System.nanoTime() - start);
+            } catch (Exception ex) {
+                breaker.onFailure();
+                record("error", System.nanoTime() - start);
+                log.warn("Ollama call failed, using fallback template", ex);
+            }
+            return Optional.empty();
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    private String generateBlocking(String prompt, String stopSequence) throws Exception {
+        CompletableFuture<HttpResponse<String>> sent =
+                httpClient.sendAsync(newRequest(prompt, stopSequence, false), HttpResponse.BodyHandlers.ofString());
+        try {
+            HttpResponse<String> response = sent.get(requestTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            if (response.statusCode() / 100 != 2) {
+                throw new IllegalStateException("Ollama returned HTTP " + response.statusCode());
+            }
+            OllamaResponse body = objectMapper.readValue(response.body(), OllamaResponse.class);
+            return body != null ? body.getResponse() : null;
+        } finally {
+            sent.cancel(true);
+        }
+    }
+
+    private String generateStreaming(String prompt, String stopSequence) throws Exception {
+        StreamingCollector collector = new StreamingCollector(stopSequence);
+        CompletableFuture<HttpResponse<Void>> sent =
+                httpClient.sendAsync(newRequest(prompt, stopSequence, true), HttpResponse.BodyHandlers.fromLineSubscriber(collector));
+        sent.whenComplete((response, ex) -> {
+            if (ex != null) {
+                collector.fail(ex);
+            } else if (response.statusCode() / 100 != 2) {
+                collector.fail(new IllegalStateException("Ollama returned HTTP " + response.statusCode()));
+            }
+        });
+        try {
+            return collector.result.get(requestTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } finally {
+            // stops the generation stream early (stop sequence reached) or on deadline
+            collector.cancel();
+            sent.cancel(true);
+        }
+    }
+
+    private HttpRequest newRequest(String prompt, String stopSequence, boolean streamResponse) throws Exception {
+        Map<String, Object> request = new HashMap<>();
+        request.put("model", modelName);
+        request.put("prompt", prompt);
+        request.put("stream", streamResponse);
+        if (stopSequence != null) {
+            // lets Ollama itself stop generating once the sign-off is written
+            request.put("options", Map.of("stop", List.of(stopSequence)));
+        }
+        return HttpRequest.newBuilder(generateUri)
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(request)))
+                .build();
+    }
+
+    private void record(String outcome, long nanos) {
+        Timer.builder("ollama.generate")
+                .description("Ollama /api/generate calls by outcome")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /** Accumulates NDJSON chunks of a streamed generation and completes early once the stop sequence shows up. */
+    private class StreamingCollector implements Flow.Subscriber<String> {
+        private final String stopSequence;
+        private final StringBuilder text = new StringBuilder();
+        private final CompletableFuture<String> result = new CompletableFuture<>();
+        private volatile Flow.Subscription subscription;
+
+        StreamingCollector(String stopSequence) {
+            this.stopSequence = stopSequence != null ? stopSequence.toLowerCase(Locale.ROOT) : null;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (line.isBlank() || result.isDone()) {
+                return;
+            }
+            try {
+                JsonNode chunk = objectMapper.readTree(line);
+                if (chunk.hasNonNull("error")) {
+                    fail(new IllegalStateException("Ollama error: " + chunk.get("error").asText()));
+                    return;
+                }
+                text.append(chunk.path("response").asText(""));
+                if (chunk.path("done").asBoolean(false)
+                        || (stopSequence != null && text.toString().toLowerCase(Locale.ROOT).contains(stopSequence))) {
+                    result.complete(text.toString());
+                    cancel();
+                }
+            } catch (Exception ex) {
+                fail(ex);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            fail(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            result.complete(text.toString());
+        }
+
+        void fail(Throwable throwable) {
+            result.completeExceptionally(throwable);
+            cancel();
+        }
+
+        void cancel() {
+            Flow.Subscription s = subscription;
+            if (s != null) {
+                s.cancel();
+            }
+        }
+    }
+}
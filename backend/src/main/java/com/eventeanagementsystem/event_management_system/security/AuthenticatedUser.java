@@ -0,0 +1,15 @@
+package com.eventeanagementsystem.event_management_system.security;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/**
+ * Principal rebuilt from verified JWT claims, so request authentication needs no database lookup.
+ * organizerId is null for users without an organizer profile.
+ */
+public record AuthenticatedUser(String email, Integer userId, Integer organizerId) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
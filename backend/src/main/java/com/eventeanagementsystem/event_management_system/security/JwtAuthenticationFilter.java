@@ -5,6 +5,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -12,6 +13,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -38,23 +40,33 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         String token = authHeader.substring(7); // strip "Bearer "
-        String username = null;
 
-        // Validate token first
-        if (jwtUtil.validateToken(token)) {
-            username = jwtUtil.extractUsername(token);
-        }
+        // Single verify + parse (cached per token until it expires)
+        VerifiedToken verified = jwtUtil.verify(token);
+        String username = verified != null ? verified.subject() : null;
 
         // If we got a username and no auth is set yet, authenticate
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
-            UsernamePasswordAuthenticationToken authToken =
-                    new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities()
-                    );
+            UsernamePasswordAuthenticationToken authToken;
+            if (verified.userId() != null) {
+                // identity and role come straight from the verified claims: no database round trip
+                List<SimpleGrantedAuthority> authorities = verified.roles().stream()
+                        .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                        .toList();
+                authToken = new UsernamePasswordAuthenticationToken(
+                        new AuthenticatedUser(username, verified.userId(), verified.organizerId()),
+                        null,
+                        authorities
+                );
+            } else {
+                // tokens issued before ids were embedded as claims: resolve the user as before until they expire
+                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                authToken = new UsernamePasswordAuthenticationToken(
+                        userDetails,
+                        null,
+                        userDetails.getAuthorities()
+                );
+            }
             authToken.setDetails(
                     new WebAuthenticationDetailsSource().buildDetails(request)
             );
@@ -1,31 +1,103 @@
 package com.eventeanagementsystem.event_management_system.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.eventeanagementsystem.event_management_system.db.AppUser;
 import io.github.cdimascio.dotenv.Dotenv;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
 
+    static final String ROLES_CLAIM = "roles";
+    static final String USER_ID_CLAIM = "uid";
+    static final String ORGANIZER_ID_CLAIM = "oid";
+
     private final Key key;
     private final long expiration;
+    // JwtParser is immutable and thread-safe once built, so one instance serves every request.
+    private final JwtParser parser;
+    // Tokens that already passed signature verification, evicted when the token itself expires.
+    // Null when JWT_CACHE_MAX_SIZE is 0 (caching disabled).
+    private final Cache<String, VerifiedToken> verifiedTokens;
 
+    @Autowired
     public JwtUtil(Dotenv dotenv) {
-        String secret = dotenv.get("JWT_SECRET");
+        this(dotenv.get("JWT_SECRET"),
+                Long.parseLong(dotenv.get("JWT_EXPIRATION_MS", "86400000")), // Default to 24 hours
+                Long.parseLong(dotenv.get("JWT_CACHE_MAX_SIZE", "10000")));
+    }
+
+    JwtUtil(String secret, long expiration, long cacheMaxSize) {
         if (secret == null || secret.isEmpty()) {
             throw new IllegalArgumentException("JWT_SECRET not found in .env file");
         }
         this.key = Keys.hmacShaKeyFor(secret.getBytes());
-        this.expiration = Long.parseLong(dotenv.get("JWT_EXPIRATION_MS", "86400000")); // Default to 24 hours
+        this.expiration = expiration;
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.verifiedTokens = cacheMaxSize <= 0 ? null : Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String token, VerifiedToken verified, long currentTime) {
+                        if (verified.expiresAt() == null) {
+                            return TimeUnit.MILLISECONDS.toNanos(expiration);
+                        }
+                        long ttlMillis = verified.expiresAt().getTime() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, ttlMillis));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String token, VerifiedToken verified, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String token, VerifiedToken verified, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Verifies the signature and expiry once and returns subject, roles and expiry together.
+     * Repeated calls with the same token are served from a bounded cache until the token expires.
+     *
+     * @return the verified token, or null if the token is malformed, tampered with or expired
+     */
+    public VerifiedToken verify(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        VerifiedToken cached = verifiedTokens != null ? verifiedTokens.getIfPresent(token) : null;
+        if (cached != null && !cached.isExpired(System.currentTimeMillis())) {
+            return cached;
+        }
+        try {
+            VerifiedToken verified = toVerifiedToken(extractAllClaims(token)); // throws if invalid or expired
+            if (verifiedTokens != null) {
+                verifiedTokens.put(token, verified);
+            }
+            return verified;
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
     }
 
     public String extractUsername(String token) {
@@ -42,11 +114,44 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    private VerifiedToken toVerifiedToken(Claims claims) {
+        List<?> rawRoles = claims.get(ROLES_CLAIM, List.class);
+        List<String> roles = rawRoles == null
+                ? List.of()
+                : rawRoles.stream().map(String::valueOf).toList();
+        return new VerifiedToken(
+                claims.getSubject(),
+                claims.get(USER_ID_CLAIM, Integer.class),
+                claims.get(ORGANIZER_ID_CLAIM, Integer.class),
+                roles,
+                claims.getExpiration());
     }
 
 
     public String generateToken(String username) {
+        return newTokenBuilder(username).compact();
+    }
+
+    /**
+     * Token carrying the user id, role and organizer id (null if the user has no organizer profile),
+     * so JwtAuthenticationFilter can authenticate requests without loading the user.
+     */
+    public String generateToken(AppUser user, Integer organizerId) {
+        JwtBuilder builder = newTokenBuilder(user.getEmail())
+                .claim(USER_ID_CLAIM, user.getId());
+        if (user.getRole() != null) {
+            builder.claim(ROLES_CLAIM, List.of(user.getRole().name()));
+        }
+        if (organizerId != null) {
+            builder.claim(ORGANIZER_ID_CLAIM, organizerId);
+        }
+        return builder.compact();
+    }
+
+    private JwtBuilder newTokenBuilder(String username) {
         Date now = new Date();
         Date expiry = new Date(now.getTime() + expiration);
 
@@ -54,16 +159,10 @@ public class JwtUtil {
                 .setSubject(username)
                 .setIssuedAt(now)
                 .setExpiration(expiry)
-                .signWith(key, SignatureAlgorithm.HS256)
-                .compact();
+                .signWith(key, SignatureAlgorithm.HS256);
     }
 
     public boolean validateToken(String token) {
-        try {
-            extractAllClaims(token);   // throws if invalid or expired
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
-        }
+        return verify(token) != null;
     }
 }
@@ -1,6 +1,7 @@
 package com.eventeanagementsystem.event_management_system.security;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -74,6 +75,8 @@ public class SecurityConfig {
                 )
                 .authorizeHttpRequests(auth->auth
                         .requestMatchers("/api/auth/**").permitAll()
+                        // scraped by Prometheus on the management port
+                        .requestMatchers(EndpointRequest.to("health", "prometheus")).permitAll()
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         // allow attendee ban/unban endpoints without role friction (demo)
                         .requestMatchers(HttpMethod.PUT, "/api/attendees/*/ban", "/api/attendees/*/unban").permitAll()
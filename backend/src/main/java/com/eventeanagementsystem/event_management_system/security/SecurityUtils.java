@@ -17,6 +17,26 @@ public class SecurityUtils {
         return auth.getName(); // we used email as username in AppUserDetailsService
     }
 
+    /** AppUser id from the JWT claims, or null if unauthenticated (or holding a token issued before ids were embedded). */
+    public static Integer getCurrentUserId() {
+        AuthenticatedUser user = getCurrentUser();
+        return user != null ? user.userId() : null;
+    }
+
+    /** Organizer profile id from the JWT claims, or null if the current user has none. */
+    public static Integer getCurrentOrganizerId() {
+        AuthenticatedUser user = getCurrentUser();
+        return user != null ? user.organizerId() : null;
+    }
+
+    private static AuthenticatedUser getCurrentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || !(auth.getPrincipal() instanceof AuthenticatedUser user)) {
+            return null;
+        }
+        return user;
+    }
+
     public static Set<String> getCurrentUserAuthorities() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
@@ -0,0 +1,15 @@
+package com.eventeanagementsystem.event_management_system.security;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Result of a single signature check + parse of a JWT: everything the request path needs from the token.
+ * userId/organizerId are null for tokens issued before those claims were embedded.
+ */
+public record VerifiedToken(String subject, Integer userId, Integer organizerId, List<String> roles, Date expiresAt) {
+
+    public boolean isExpired(long nowMillis) {
+        return expiresAt != null && expiresAt.getTime() <= nowMillis;
+    }
+}
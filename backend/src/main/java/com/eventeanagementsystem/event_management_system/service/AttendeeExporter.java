@@ -0,0 +1,121 @@
+package com.eventeanagementsystem.event_management_system.service;
+
+import com.eventeanagementsystem.event_management_system.db.AttendanceStatus;
+import com.eventeanagementsystem.event_management_system.db.AttendeeRepository;
+import com.eventeanagementsystem.event_management_system.dto.AttendeeExportRow;
+import com.eventeanagementsystem.event_management_system.exception.BadRequestException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Writes the attendees of an event straight from a database cursor to the response, as NDJSON or CSV.
+ * Only one fetch batch and one write buffer are held at a time, whatever the size of the event.
+ */
+@Service
+public class AttendeeExporter {
+
+    // rows after which buffered output is pushed to the client even if the buffer is not full
+    private static final int FLUSH_EVERY = 1000;
+    private static final String CSV_HEADER = "id,name,email,status,userId,userEmail";
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        public final String contentType;
+        public final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public static Format parse(String format) {
+            if (format == null || format.isBlank()) {
+                return NDJSON;
+            }
+            try {
+                return valueOf(format.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new BadRequestException("Unknown export format: " + format + " (expected ndjson or csv)");
+            }
+        }
+    }
+
+    private final AttendeeRepository attendeeRepository;
+    private final ObjectMapper objectMapper;
+
+    public AttendeeExporter(AttendeeRepository attendeeRepository, ObjectMapper objectMapper) {
+        this.attendeeRepository = attendeeRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Streams the attendees of the event (ordered by id) to {@code out}. The read-only transaction keeps the cursor open
+     * for the duration of the export; callers check access to the event before the response is committed.
+     *
+     * @param status only attendees with this status, or null for all of them
+     */
+    @Transactional(readOnly = true)
+    public void export(int eventId, AttendanceStatus status, Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        try (Stream<AttendeeExportRow> rows = attendeeRepository.streamExportRows(eventId, status)) {
+            Iterator<AttendeeExportRow> iterator = rows.iterator();
+            int written = 0;
+            while (iterator.hasNext()) {
+                AttendeeExportRow row = iterator.next();
+                if (format == Format.CSV) {
+                    writeCsv(writer, row);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(row));
+                }
+                writer.write('\n');
+                // first row right away (time to first byte), then in chunks
+                if (++written == 1 || written % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    private static void writeCsv(Writer writer, AttendeeExportRow row) throws IOException {
+        writer.write(row.getId() != null ? row.getId().toString() : "");
+        writer.write(',');
+        writer.write(csvField(row.getName()));
+        writer.write(',');
+        writer.write(csvField(row.getEmail()));
+        writer.write(',');
+        writer.write(row.getStatus() != null ? row.getStatus().name() : "");
+        writer.write(',');
+        writer.write(row.getUserId() != null ? row.getUserId().toString() : "");
+        writer.write(',');
+        writer.write(csvField(row.getUserEmail()));
+    }
+
+    // RFC 4180: quote fields containing a separator, quote or line break, doubling embedded quotes
+    static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
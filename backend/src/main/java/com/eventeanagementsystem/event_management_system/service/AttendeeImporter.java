@@ -0,0 +1,294 @@
+package com.eventeanagementsystem.event_management_system.service;
+
+import com.eventeanagementsystem.event_management_system.db.*;
+import com.eventeanagementsystem.event_management_system.dto.AttendeeImportReport;
+import com.eventeanagementsystem.event_management_system.exception.BadRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Bulk import of pre-registered attendees from CSV. The file is read as a stream and written in chunks of
+ * attendee.import.chunk-size rows, one transaction per chunk; within a chunk Hibernate sends the INSERTs in JDBC
+ * batches (hibernate.jdbc.batch_size, ids from the pooled attendee_seq).
+ * <p>
+ * Rows are validated and deduplicated by e-mail (case-insensitive) against the event's list and the file itself.
+ * Approved imports take their seats chunk by chunk under a lock on the event row; rows past the capacity are
+ * rejected. Imported attendees are not notified: they were registered outside the app.
+ */
+@Service
+public class AttendeeImporter {
+
+    private static final int MAX_LENGTH = 255;
+    private static final Pattern EMAIL = Pattern.compile("[^@\\s]+@[^@\\s]+\\.[^@\\s]+");
+
+    private final AttendeeRepository attendeeRepository;
+    private final EventRepository eventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SeatReservationEngine seatReservationEngine;
+    private final EventResponseCache eventResponseCache;
+
+    @Value("${attendee.import.chunk-size:1000}")
+    private int chunkSize;
+    @Value("${attendee.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    private record Row(long line, String name, String email) {}
+
+    public AttendeeImporter(AttendeeRepository attendeeRepository,
+                            EventRepository eventRepository,
+                            TransactionTemplate transactionTemplate,
+                            SeatReservationEngine seatReservationEngine,
+                            EventResponseCache eventResponseCache) {
+        this.attendeeRepository = attendeeRepository;
+        this.eventRepository = eventRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.seatReservationEngine = seatReservationEngine;
+        this.eventResponseCache = eventResponseCache;
+    }
+
+    /**
+     * Imports the CSV rows as attendees of the event with the given status (PENDING or APPROVED).
+     * The first record is the header; it must name a {@code name} and an {@code email} column, others are ignored.
+     * Chunks written before a failure stay imported.
+     */
+    public AttendeeImportReport importCsv(int eventId, AttendanceStatus status, Reader csv) throws IOException {
+        if (status != AttendanceStatus.PENDING && status != AttendanceStatus.APPROVED) {
+            throw new BadRequestException("Attendees can only be imported as PENDING or APPROVED");
+        }
+        long started = System.nanoTime();
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new IllegalArgumentException("Event not found: " + eventId));
+        if (status == AttendanceStatus.PENDING
+                && event.getMaxAttendees() != null && event.getApprovedCount() >= event.getMaxAttendees()) {
+            throw new IllegalStateException("Event is full, cannot add more attendees");
+        }
+
+        CsvReader reader = new CsvReader(new BufferedReader(csv));
+        List<String> header = reader.next();
+        int nameColumn = header == null ? -1 : columnOf(header, "name");
+        int emailColumn = header == null ? -1 : columnOf(header, "email");
+        if (nameColumn < 0 || emailColumn < 0) {
+            throw new BadRequestException("The CSV header must contain a name and an email column");
+        }
+
+        // e-mail (lower case) -> status of the request already on the event's list, then of the rows read so far
+        Map<String, AttendanceStatus> known = new HashMap<>();
+        for (Object[] row : attendeeRepository.findEmailsAndStatusesByEventId(eventId)) {
+            known.merge(normalize((String) row[0]), (AttendanceStatus) row[1], (a, b) -> blocks(a) ? a : b);
+        }
+        Set<String> inFile = new HashSet<>();
+
+        AttendeeImportReport report = new AttendeeImportReport();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        List<String> record;
+        while ((record = reader.next()) != null) {
+            long line = reader.records();
+            report.setRows(report.getRows() + 1);
+            String name = field(record, nameColumn);
+            String email = field(record, emailColumn);
+            String problem = validate(name, email);
+            if (problem != null) {
+                reject(report, line, email, problem);
+                continue;
+            }
+            String key = normalize(email);
+            AttendanceStatus existing = known.get(key);
+            if (existing == AttendanceStatus.BANNED) {
+                reject(report, line, email, "Banned from this event");
+                continue;
+            }
+            if (blocks(existing) || !inFile.add(key)) {
+                report.setDuplicates(report.getDuplicates() + 1);
+                addError(report, line, email, blocks(existing) ? "Already on the event's list" : "Duplicate of an earlier row");
+                continue;
+            }
+            chunk.add(new Row(line, name, email));
+            if (chunk.size() == chunkSize) {
+                write(eventId, status, chunk, report);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            write(eventId, status, chunk, report);
+        }
+
+        long elapsedNanos = System.nanoTime() - started;
+        report.setDurationMs(elapsedNanos / 1_000_000);
+        report.setRowsPerSecond(elapsedNanos == 0 ? 0 : report.getRows() * 1_000_000_000.0 / elapsedNanos);
+        return report;
+    }
+
+    private void write(int eventId, AttendanceStatus status, List<Row> chunk, AttendeeImportReport report) {
+        int written = transactionTemplate.execute(tx -> {
+            int granted = chunk.size();
+            if (status == AttendanceStatus.APPROVED) {
+                Integer free = eventRepository.lockFreeSeats(eventId);
+                if (free == null) {
+                    throw new IllegalArgumentException("Event not found: " + eventId);
+                }
+                granted = Math.min(free, chunk.size());
+                if (granted > 0) {
+                    eventRepository.tryReserveSeats(eventId, granted);
+                }
+            }
+            Event event = eventRepository.getReferenceById(eventId);
+            List<Attendee> attendees = new ArrayList<>(granted);
+            for (Row row : chunk.subList(0, granted)) {
+                attendees.add(new Attendee(null, row.name(), row.email(), event, status, null));
+            }
+            attendeeRepository.saveAll(attendees);
+            if (granted > 0) {
+                seatReservationEngine.onEventChanged(eventId);
+                eventResponseCache.onAttendeesChanged(eventId);
+            }
+            return granted;
+        });
+        report.setImported(report.getImported() + written);
+        for (Row row : chunk.subList(written, chunk.size())) {
+            reject(report, row.line(), row.email(), "Event is full");
+        }
+    }
+
+    // requests that keep the same address from being added again; rejected and cancelled ones may be re-imported
+    private static boolean blocks(AttendanceStatus status) {
+        return status == AttendanceStatus.PENDING || status == AttendanceStatus.APPROVED || status == AttendanceStatus.BANNED;
+    }
+
+    private static String validate(String name, String email) {
+        if (name.isEmpty()) {
+            return "Name is required";
+        }
+        if (email.isEmpty()) {
+            return "Email is required";
+        }
+        if (name.length() > MAX_LENGTH || email.length() > MAX_LENGTH) {
+            return "Name and email are limited to " + MAX_LENGTH + " characters";
+        }
+        if (!EMAIL.matcher(email).matches()) {
+            return "Invalid email: " + email;
+        }
+        return null;
+    }
+
+    private void reject(AttendeeImportReport report, long line, String email, String message) {
+        report.setRejected(report.getRejected() + 1);
+        addError(report, line, email, message);
+    }
+
+    private void addError(AttendeeImportReport report, long line, String email, String message) {
+        if (report.getErrors().size() < maxReportedErrors) {
+            report.getErrors().add(new AttendeeImportReport.RowError(line, email, message));
+        }
+    }
+
+    private static int columnOf(List<String> header, String column) {
+        for (int i = 0; i < header.size(); i++) {
+            // a UTF-8 byte order mark sticks to the first column name
+            if (header.get(i).replace("\uFEFF", "").trim().equalsIgnoreCase(column)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String field(List<String> record, int column) {
+        return column < record.size() ? record.get(column).trim() : "";
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Minimal RFC 4180 reader: comma separated, fields optionally quoted with doubled quotes inside,
+     * quoted fields may span lines, CRLF or LF line ends. Blank lines are skipped.
+     */
+    static final class CsvReader {
+        private final Reader in;
+        private long records;
+        private int peeked = -2;
+
+        CsvReader(Reader in) {
+            this.in = in;
+        }
+
+        /** The number of records returned so far (the line number of the last one, the header being 1). */
+        long records() {
+            return records;
+        }
+
+        /** The next record, or null at the end of the input. */
+        List<String> next() throws IOException {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean any = false;
+            int c;
+            while ((c = read()) != -1) {
+                if (quoted) {
+                    if (c == '"') {
+                        if (peek() == '"') {
+                            read();
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                    any = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                    any = true;
+                } else if (c == '\r' || c == '\n') {
+                    if (c == '\r' && peek() == '\n') {
+                        read();
+                    }
+                    if (any || field.length() > 0) {
+                        break;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            }
+            if (c == -1 && !any && field.length() == 0) {
+                return null;
+            }
+            fields.add(field.toString());
+            records++;
+            return fields;
+        }
+
+        private int read() throws IOException {
+            if (peeked != -2) {
+                int c = peeked;
+                peeked = -2;
+                return c;
+            }
+            return in.read();
+        }
+
+        private int peek() throws IOException {
+            if (peeked == -2) {
+                peeked = in.read();
+            }
+            return peeked;
+        }
+    }
+}
@@ -1,29 +1,60 @@
 package com.eventeanagementsystem.event_management_system.service;
 import com.eventeanagementsystem.event_management_system.db.*;
+import com.eventeanagementsystem.event_management_system.dto.BulkDecisionRequest;
+import com.eventeanagementsystem.event_management_system.dto.BulkDecisionResult;
+import com.eventeanagementsystem.event_management_system.dto.EventSummaryDto;
+import com.eventeanagementsystem.event_management_system.exception.BadRequestException;
 import com.eventeanagementsystem.event_management_system.notification.NotificationService;
 import com.eventeanagementsystem.event_management_system.security.SecurityUtils;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 @Service
+@Timed(value = "evently.service", histogram = true)
 public class AttendeeService {
+    static final int MAX_ATTENDING_PAGE_SIZE = 100;
+    static final int MAX_BULK_DECISIONS = 1000;
     private final AttendeeRepository attendeeRepository;
     private final EventRepository eventRepository;
     private final AppUserRepository appUserRepository;
     private final NotificationService notificationService;
+    private final SeatReservationEngine seatReservationEngine;
+    private final EventResponseCache eventResponseCache;
+    // "direct": each request is checked and inserted in the database; "reserved": see SeatReservationEngine
+    @Value("${booking.mode:direct}")
+    private String bookingMode;
     @Autowired
-    public AttendeeService(AttendeeRepository attendeeRepository, EventRepository eventRepository, AppUserRepository appUserRepository, NotificationService notificationService) {
+    public AttendeeService(AttendeeRepository attendeeRepository, EventRepository eventRepository, AppUserRepository appUserRepository, NotificationService notificationService, SeatReservationEngine seatReservationEngine, EventResponseCache eventResponseCache) {
         this.attendeeRepository = attendeeRepository;
         this.eventRepository = eventRepository;
         this.appUserRepository = appUserRepository;
         this.notificationService = notificationService;
+        this.seatReservationEngine = seatReservationEngine;
+        this.eventResponseCache = eventResponseCache;
     }
     public Attendee addAttendee(Attendee attendee) {
-        return attendeeRepository.save(attendee);
+        Attendee saved = attendeeRepository.save(attendee);
+        if (saved.getEvent() != null) {
+            eventResponseCache.onAttendeesChanged(saved.getEvent().getId());
+        }
+        return saved;
     }
     public Attendee getAttendeeById(int attendeeId) {
-        return attendeeRepository.findById(attendeeId)
+        return attendeeRepository.findWithEventAndUserById(attendeeId)
                 .orElseThrow(() -> new IllegalArgumentException("Attendee not found: " + attendeeId));
     }
     /**
@@ -32,9 +63,11 @@ public class AttendeeService {
      * - Attendee are un camp `event`
      * - Event are un `List<Attendee> attendees`
      * - Event poate avea un maxAttendees (opțional)
+     * Capacitatea se verifică prin contorul approvedCount (fără a încărca lista de participanți).
      */
+    @Transactional
     public Attendee assignAttendeeToEvent(int attendeeId, int eventId) {
-        Attendee attendee = attendeeRepository.findById(attendeeId)
+        Attendee attendee = attendeeRepository.findByIdForUpdate(attendeeId)
                 .orElseThrow(() -> new IllegalArgumentException("Attendee not found: " + attendeeId));
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new IllegalArgumentException("Event not found: " + eventId));
@@ -48,30 +81,37 @@ public class AttendeeService {
             throw new IllegalStateException("Attendee is already assigned to another event");
         }
         // (opțional) verificare de capacitate
-        if (event.getMaxAttendees() != null &&
-                event.getAttendees() != null &&
-                event.getAttendees().size() >= event.getMaxAttendees()) {
+        if (attendee.getStatus() == AttendanceStatus.APPROVED) {
+            // an approved attendee occupies a seat right away
+            reserveSeat(event.getId());
+        } else if (event.getMaxAttendees() != null && event.getApprovedCount() >= event.getMaxAttendees()) {
+            // pending attendees take their seat atomically on approval; this only rejects obviously full events
             throw new IllegalStateException("Event is full, cannot add more attendees");
         }
-        // menținem relația bidirecțională
-        attendee.setEvent(event);               // partea ManyToOne
-        event.getAttendees().add(attendee);     // partea OneToMany
+        attendee.setEvent(event);               // partea ManyToOne (owning side)
+        seatReservationEngine.onEventChanged(event.getId());
+        eventResponseCache.onAttendeesChanged(event.getId());
         return attendeeRepository.save(attendee);
     }
     /**
      * Dez-asignează un participant de la eveniment (dacă ai nevoie de așa ceva).
      */
+    @Transactional
     public Attendee removeAttendeeFromEvent(int attendeeId) {
-        Attendee attendee = attendeeRepository.findById(attendeeId)
+        Attendee attendee = attendeeRepository.findByIdForUpdate(attendeeId)
                 .orElseThrow(() -> new IllegalArgumentException("Attendee not found: " + attendeeId));
         Event event = attendee.getEvent();
-        if (event != null && event.getAttendees() != null) {
-            event.getAttendees().remove(attendee);
+        if (event != null && attendee.getStatus() == AttendanceStatus.APPROVED) {
+            eventRepository.releaseSeat(event.getId());
         }
+        // only the owning side is updated: removing it from event.attendees inside this transaction
+        // would trigger orphanRemoval and delete the row the queued notification points to
         attendee.setEvent(null);
         Attendee saved = attendeeRepository.save(attendee);
         if (event != null) {
-            notificationService.sendAttendeeRemoved(saved, event);
+            notificationService.queueAttendeeRemoved(saved, event);
+            seatReservationEngine.onReleased(event.getId(), userIdOf(attendee));
+            eventResponseCache.onAttendeesChanged(event.getId());
         }
         return saved;
     }
@@ -79,14 +119,20 @@ public class AttendeeService {
     /**
      * Admin-only: ban an attendee from an event (removes them and marks status).
      */
+    @Transactional
     public Attendee banAttendeeFromEvent(int attendeeId) {
-        Attendee attendee = attendeeRepository.findById(attendeeId)
+        Attendee attendee = attendeeRepository.findByIdForUpdate(attendeeId)
                 .orElseThrow(() -> new IllegalArgumentException("Attendee not found: " + attendeeId));
         Event event = attendee.getEvent();
+        if (event != null && attendee.getStatus() == AttendanceStatus.APPROVED) {
+            eventRepository.releaseSeat(event.getId());
+        }
         attendee.setStatus(AttendanceStatus.BANNED); // keep the event reference to record the ban scope
         Attendee saved = attendeeRepository.save(attendee);
         if (event != null) {
-            notificationService.sendAttendeeRemoved(saved, event);
+            notificationService.queueAttendeeRemoved(saved, event);
+            seatReservationEngine.onBanned(event.getId(), userIdOf(attendee));
+            eventResponseCache.onAttendeesChanged(event.getId());
         }
         return saved;
     }
@@ -94,14 +140,20 @@ public class AttendeeService {
     /**
      * Admin-only: unban an attendee for an event (allows future requests).
      */
+    @Transactional
     public Attendee unbanAttendee(int attendeeId) {
-        Attendee attendee = attendeeRepository.findById(attendeeId)
+        Attendee attendee = attendeeRepository.findByIdForUpdate(attendeeId)
                 .orElseThrow(() -> new IllegalArgumentException("Attendee not found: " + attendeeId));
         if (attendee.getStatus() != AttendanceStatus.BANNED) {
             return attendee;
         }
         attendee.setStatus(AttendanceStatus.REJECTED); // reset to a non-banned state
-        return attendeeRepository.save(attendee);
+        Attendee saved = attendeeRepository.save(attendee);
+        if (attendee.getEvent() != null) {
+            seatReservationEngine.onUnbanned(attendee.getEvent().getId(), userIdOf(attendee));
+            eventResponseCache.onAttendeesChanged(attendee.getEvent().getId());
+        }
+        return saved;
     }
     /**
      * Returnează toți participanții unui eveniment.
@@ -129,61 +181,213 @@ public class AttendeeService {
     public List<Attendee> getPendingRequestsForEvent(int eventId) {
         return attendeeRepository.findByEventIdAndStatus(eventId, AttendanceStatus.PENDING);
     }
-    /** Approve a pending request */
+    /** Approve a pending request (the email is queued in the same transaction and sent in the background) */
+    @Transactional
     public Attendee approveAttendance(int attendeeId) {
-        Attendee attendee = attendeeRepository.findById(attendeeId)
+        Attendee attendee = attendeeRepository.findByIdForUpdate(attendeeId)
                 .orElseThrow(() -> new IllegalArgumentException("Attendee not found: " + attendeeId));
+        if (attendee.getStatus() == AttendanceStatus.APPROVED) {
+            return attendee; // already holds a seat
+        }
+        Event event = attendee.getEvent();
+        if (event != null) {
+            reserveSeat(event.getId());
+        }
         attendee.setStatus(AttendanceStatus.APPROVED);
         Attendee saved = attendeeRepository.save(attendee);
-        Event event = attendee.getEvent();
-        if (event != null && event.getAttendees() != null) {
-            notificationService.sendBookingApproved(saved, event);
+        if (event != null) {
+            notificationService.queueBookingApproved(saved, event);
+            eventResponseCache.onAttendeesChanged(event.getId());
         }
         return saved;
     }
     /** Reject a pending request */
+    @Transactional
     public Attendee rejectAttendance(int attendeeId) {
-        Attendee attendee = attendeeRepository.findById(attendeeId)
+        Attendee attendee = attendeeRepository.findByIdForUpdate(attendeeId)
                 .orElseThrow(() -> new IllegalArgumentException("Attendee not found: " + attendeeId));
+        Event event = attendee.getEvent();
+        if (event != null && attendee.getStatus() == AttendanceStatus.APPROVED) {
+            eventRepository.releaseSeat(event.getId());
+        }
+        boolean wasBanned = attendee.getStatus() == AttendanceStatus.BANNED;
         attendee.setStatus(AttendanceStatus.REJECTED);
         Attendee saved = attendeeRepository.save(attendee);
-        Event event = attendee.getEvent();
-        if (event != null && event.getAttendees() != null) {
-            notificationService.sendBookingRejected(saved, event);
+        if (event != null) {
+            notificationService.queueBookingRejected(saved, event);
+            eventResponseCache.onAttendeesChanged(event.getId());
+            if (wasBanned) {
+                seatReservationEngine.onUnbanned(event.getId(), userIdOf(attendee));
+            } else {
+                seatReservationEngine.onReleased(event.getId(), userIdOf(attendee));
+            }
         }
         return saved;
     }
+    /**
+     * Approves or rejects many pending requests of an event in one transaction: the given attendees,
+     * or the first N pending requests. Each decision is a single set-based UPDATE of the attendee rows;
+     * approvals go in request order and take their seats with one capacity-checked UPDATE of the event,
+     * the rest is reported as EVENT_FULL. The emails are queued with one INSERT into the outbox
+     * (and share one composed body per event, see AiEmailComposer).
+     * Attendees that are not pending requests of the event are reported and left unchanged.
+     */
+    @Transactional
+    public BulkDecisionResult decideRequests(int eventId, AttendanceStatus decision, BulkDecisionRequest request) {
+        if (decision != AttendanceStatus.APPROVED && decision != AttendanceStatus.REJECTED) {
+            throw new BadRequestException("Requests can only be approved or rejected");
+        }
+        List<Integer> ids = selectedRequests(eventId, request);
+        BulkDecisionResult result = new BulkDecisionResult();
+        if (ids.isEmpty()) {
+            return result;
+        }
+        // attendee rows first, then the event row: the same order as approveAttendance
+        Map<Integer, AttendanceStatus> current = new HashMap<>();
+        for (Object[] row : attendeeRepository.lockStatusesByEventIdAndIdIn(eventId, ids)) {
+            current.put(((Number) row[0]).intValue(), AttendanceStatus.valueOf((String) row[1]));
+        }
+        List<Integer> pending = ids.stream().filter(id -> current.get(id) == AttendanceStatus.PENDING).sorted().toList();
+        List<Integer> decided = pending;
+        if (decision == AttendanceStatus.APPROVED && !pending.isEmpty()) {
+            Integer free = eventRepository.lockFreeSeats(eventId);
+            if (free == null) {
+                throw new IllegalArgumentException("Event not found: " + eventId);
+            }
+            decided = pending.subList(0, Math.min(free, pending.size()));
+            if (!decided.isEmpty() && eventRepository.tryReserveSeats(eventId, decided.size()) == 0) {
+                throw new IllegalStateException("Event is full, cannot add more attendees");
+            }
+        }
+        if (!decided.isEmpty()) {
+            attendeeRepository.updateStatuses(decided, AttendanceStatus.PENDING, decision);
+            if (decision == AttendanceStatus.APPROVED) {
+                notificationService.queueBookingApproved(decided);
+            } else {
+                notificationService.queueBookingRejected(decided);
+            }
+            seatReservationEngine.onEventChanged(eventId);
+            eventResponseCache.onAttendeesChanged(eventId);
+        }
+
+        Set<Integer> decidedIds = new HashSet<>(decided);
+        BulkDecisionResult.Outcome done = decision == AttendanceStatus.APPROVED
+                ? BulkDecisionResult.Outcome.APPROVED
+                : BulkDecisionResult.Outcome.REJECTED;
+        for (Integer id : ids) {
+            BulkDecisionResult.Outcome outcome;
+            if (decidedIds.contains(id)) {
+                outcome = done;
+            } else if (current.get(id) == AttendanceStatus.PENDING) {
+                outcome = BulkDecisionResult.Outcome.EVENT_FULL;
+            } else if (current.containsKey(id)) {
+                outcome = BulkDecisionResult.Outcome.NOT_PENDING;
+            } else {
+                outcome = BulkDecisionResult.Outcome.NOT_FOUND;
+            }
+            result.getResults().add(new BulkDecisionResult.Item(id, outcome));
+        }
+        result.setDecided(decided.size());
+        result.setSkipped(ids.size() - decided.size());
+        return result;
+    }
+    private List<Integer> selectedRequests(int eventId, BulkDecisionRequest request) {
+        boolean hasIds = request.getAttendeeIds() != null && !request.getAttendeeIds().isEmpty();
+        if (request.getFirstPending() != null) {
+            if (hasIds) {
+                throw new BadRequestException("Give either attendeeIds or firstPending, not both");
+            }
+            int count = request.getFirstPending();
+            if (count < 1 || count > MAX_BULK_DECISIONS) {
+                throw new BadRequestException("firstPending must be between 1 and " + MAX_BULK_DECISIONS);
+            }
+            return attendeeRepository.findIdsByEventIdAndStatus(eventId, AttendanceStatus.PENDING, PageRequest.of(0, count));
+        }
+        if (!hasIds) {
+            return List.of();
+        }
+        List<Integer> ids = request.getAttendeeIds().stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.size() > MAX_BULK_DECISIONS) {
+            throw new BadRequestException("At most " + MAX_BULK_DECISIONS + " requests can be decided at once");
+        }
+        return ids;
+    }
     // example: request to attend event (from previous step)
     public Attendee requestToAttendEvent(int eventId, Attendee attendeeData) {
+        if ("reserved".equalsIgnoreCase(bookingMode)) {
+            return reserveRequest(eventId, attendeeData);
+        }
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new IllegalArgumentException("Event not found: " + eventId));
-        String email = SecurityUtils.getCurrentUserEmail();
-        if (email == null) {
-            throw new IllegalStateException("No authenticated user in context");
+        Integer userId = currentUserId();
+        // Check if user already has a request for this event (one index lookup on (user_id, event_id))
+        List<AttendanceStatus> blocking = attendeeRepository.findBlockingStatuses(userId, eventId);
+        if (blocking.contains(AttendanceStatus.BANNED)) {
+            throw new IllegalStateException("You are banned from this event");
         }
-        AppUser user = appUserRepository.findByEmail(email)
-                .orElseThrow(() -> new IllegalStateException("User not found: " + email));
-        // Check if user already has a request for this event
-        List<Attendee> existingRequests = attendeeRepository.findByUserEmail(email);
-        for (Attendee existing : existingRequests) {
-            if (existing.getEvent() != null && existing.getEvent().getId().equals(eventId)) {
-                if (existing.getStatus() == AttendanceStatus.BANNED) {
-                    throw new IllegalStateException("You are banned from this event");
-                }
-                if (existing.getStatus() == AttendanceStatus.APPROVED || existing.getStatus() == AttendanceStatus.PENDING) {
-                    throw new IllegalStateException("You have already requested to join this event");
-                }
-                // For REJECTED/CANCELED we allow a new request
-            }
+        if (!blocking.isEmpty()) {
+            throw new IllegalStateException("You have already requested to join this event");
         }
+        // For REJECTED/CANCELED we allow a new request
         Attendee attendee = new Attendee();
         // Copy fields from attendeeData (name, email from frontend)
         attendee.setName(attendeeData.getName());
         attendee.setEmail(attendeeData.getEmail());
         attendee.setEvent(event);
-        attendee.setUser(user);
+        attendee.setUser(appUserRepository.getReferenceById(userId));
         attendee.setStatus(AttendanceStatus.PENDING);
-        return attendeeRepository.save(attendee);
+        try {
+            Attendee saved = attendeeRepository.save(attendee);
+            eventResponseCache.onAttendeesChanged(eventId);
+            return saved;
+        } catch (DataIntegrityViolationException ex) {
+            // a concurrent request of the same user won the race (uq_attendee_active_request)
+            throw new IllegalStateException("You have already requested to join this event");
+        }
+    }
+    /** AppUser id of the caller from the token claims; older tokens fall back to a lookup by email. */
+    private Integer currentUserId() {
+        Integer userId = SecurityUtils.getCurrentUserId();
+        if (userId != null) {
+            return userId;
+        }
+        String email = SecurityUtils.getCurrentUserEmail();
+        if (email == null) {
+            throw new IllegalStateException("No authenticated user in context");
+        }
+        return appUserRepository.findByEmail(email)
+                .map(AppUser::getId)
+                .orElseThrow(() -> new IllegalStateException("User not found: " + email));
+    }
+    /**
+     * Ticket-drop path: the request is decided in memory and written behind (see SeatReservationEngine).
+     * The returned attendee has no id yet; the row is inserted within the write-behind flush interval.
+     */
+    private Attendee reserveRequest(int eventId, Attendee attendeeData) {
+        switch (seatReservationEngine.reserve(eventId, currentUserId(), attendeeData.getName(), attendeeData.getEmail())) {
+            case BANNED -> throw new IllegalStateException("You are banned from this event");
+            case ALREADY_REQUESTED -> throw new IllegalStateException("You have already requested to join this event");
+            case FULL -> throw new IllegalStateException("Event is full, cannot add more attendees");
+            default -> {
+                Attendee attendee = new Attendee();
+                attendee.setName(attendeeData.getName());
+                attendee.setEmail(attendeeData.getEmail());
+                attendee.setStatus(AttendanceStatus.PENDING);
+                return attendee;
+            }
+        }
+    }
+    private static Integer userIdOf(Attendee attendee) {
+        return attendee.getUser() != null ? attendee.getUser().getId() : null;
+    }
+    /**
+     * Takes one approved seat with a single conditional UPDATE; concurrent callers can never push
+     * approvedCount past maxAttendees. Must run inside the caller's transaction so a later failure gives the seat back.
+     */
+    private void reserveSeat(Integer eventId) {
+        if (eventRepository.tryReserveSeat(eventId) == 0) {
+            throw new IllegalStateException("Event is full, cannot add more attendees");
+        }
     }
     public List<Attendee> getMyRequests() {
         String email = SecurityUtils.getCurrentUserEmail();
@@ -192,4 +396,23 @@ public class AttendeeService {
         }
         return attendeeRepository.findByUserEmail(email);
     }
+    /**
+     * Events the current user is approved for, as catalog rows, in one query.
+     * @param when "upcoming" (undated included, soonest first), "past" (most recent first) or null/"all" (by date)
+     * @param page zero-based page, only used together with size
+     * @param size page size (capped at MAX_ATTENDING_PAGE_SIZE); null returns every event
+     */
+    public List<EventSummaryDto> getMyAttendingEvents(String when, Integer page, Integer size) {
+        Integer userId = currentUserId();
+        Pageable pageable = size == null
+                ? Pageable.unpaged()
+                : PageRequest.of(page == null ? 0 : Math.max(0, page), Math.max(1, Math.min(size, MAX_ATTENDING_PAGE_SIZE)));
+        String filter = when == null ? "all" : when.toLowerCase(Locale.ROOT);
+        return switch (filter) {
+            case "all" -> attendeeRepository.findAttendingEvents(userId, pageable);
+            case "upcoming" -> attendeeRepository.findUpcomingAttendingEvents(userId, new Date(), pageable);
+            case "past" -> attendeeRepository.findPastAttendingEvents(userId, new Date(), pageable);
+            default -> throw new BadRequestException("Unknown filter: " + when + " (expected upcoming, past or all)");
+        };
+    }
 }
@@ -10,6 +10,7 @@ import com.eventeanagementsystem.event_management_system.dto.LoginRequest;
 import com.eventeanagementsystem.event_management_system.dto.RegisterRequest;
 import com.eventeanagementsystem.event_management_system.dto.UpdateCredentialsRequest;
 import com.eventeanagementsystem.event_management_system.security.JwtUtil;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.AuthenticationException;
@@ -18,6 +19,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
+@Timed(value = "evently.service", histogram = true)
 public class AuthService {
     private final AppUserRepository userRepository;
     private final OrganizerRepository organizerRepository;
@@ -42,6 +44,7 @@ public class AuthService {
         UserRole role = UserRole.valueOf(request.getRole().toUpperCase());
         user.setRole(role);
         AppUser savedUser = userRepository.save(user);
+        Integer organizerId = null;
 
         // 2. If the role is ORGANIZER, create the associated Organizer entity
         if (role == UserRole.ORGANIZER) {
@@ -51,11 +54,11 @@ public class AuthService {
             organizer.setName(request.getEmail().split("@")[0]);
             organizer.setEmail(request.getEmail());
             organizer.setUser(savedUser);
-            organizerRepository.save(organizer);
+            organizerId = organizerRepository.save(organizer).getId();
         }
 
         // 3. Generate a token for the new user and return it (auto-login)
-        String token = jwtUtil.generateToken(savedUser.getEmail());
+        String token = jwtUtil.generateToken(savedUser, organizerId);
         return new AuthResponse(token, savedUser.getRole());
     }
 
@@ -73,8 +76,7 @@ public class AuthService {
         AppUser user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
-        String token = jwtUtil.generateToken(user.getEmail());
-        return new AuthResponse(token, user.getRole());
+        return new AuthResponse(issueToken(user), user.getRole());
     }
 
     /**
@@ -100,7 +102,14 @@ public class AuthService {
         }
 
         AppUser saved = userRepository.save(user);
-        String token = jwtUtil.generateToken(saved.getEmail());
-        return new AuthResponse(token, saved.getRole());
+        return new AuthResponse(issueToken(saved), saved.getRole());
+    }
+
+    // Resolve the organizer profile once at login so requests can carry its id in the token.
+    private String issueToken(AppUser user) {
+        Integer organizerId = user.getRole() == UserRole.ATTENDEE
+                ? null
+                : organizerRepository.findByUserId(user.getId()).map(Organizer::getId).orElse(null);
+        return jwtUtil.generateToken(user, organizerId);
     }
 }
@@ -0,0 +1,172 @@
+package com.eventeanagementsystem.event_management_system.service;
+
+import com.eventeanagementsystem.event_management_system.db.Event;
+import com.eventeanagementsystem.event_management_system.dto.EventCatalogPage;
+import com.eventeanagementsystem.event_management_system.dto.EventSummaryDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Public event responses (catalog pages and event details) kept as serialized JSON with a strong ETag.
+ * <ul>
+ *     <li>a repeated request is answered from memory, and a matching If-None-Match without even writing the body</li>
+ *     <li>concurrent misses for the same key wait for a single rebuild instead of each querying the database</li>
+ *     <li>writes drop only what they affect: the event's detail, and the catalog pages whose (date, id) range
+ *     covers the event's old or new position</li>
+ * </ul>
+ * Invalidation runs after the writing transaction commits, so a rebuild never sees the state before the write.
+ */
+@Component
+public class EventResponseCache {
+
+    /** Serialized response; the ETag changes every time the entry is rebuilt. */
+    public record CachedResponse(byte[] body, String etag) {}
+
+    private record CatalogKey(String cursor, int limit, boolean includeDescription) {}
+
+    /** Catalog position in EventRepository's order: dated events by (date, id), then undated ones by id. */
+    private record Position(Date date, int id) {}
+
+    private static final Comparator<Position> CATALOG_ORDER = Comparator
+            .comparing(Position::date, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparingInt(Position::id);
+
+    /** A page holds the events after {@code after} (exclusive) up to {@code last} (inclusive; null on the last page). */
+    private record CatalogEntry(CachedResponse response, Position after, Position last) {
+        boolean covers(Position position) {
+            return (after == null || CATALOG_ORDER.compare(position, after) > 0)
+                    && (last == null || CATALOG_ORDER.compare(position, last) <= 0);
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+    // in-flight builds are cached too: later callers join the future instead of starting another build
+    private final Cache<CatalogKey, CompletableFuture<CatalogEntry>> catalogPages;
+    private final Cache<Integer, CompletableFuture<CachedResponse>> eventDetails;
+    // seeded with the start time so ETags issued before a restart never match again
+    private final AtomicLong versions = new AtomicLong(System.currentTimeMillis() * 1000);
+
+    public EventResponseCache(ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${events.response-cache.max-size:2000}") long maxSize,
+                              @Value("${events.response-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.objectMapper = objectMapper;
+        this.catalogPages = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.eventDetails = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, catalogPages, "event_catalog_responses");
+        CaffeineCacheMetrics.monitor(meterRegistry, eventDetails, "event_detail_responses");
+    }
+
+    public CachedResponse catalogPage(String cursor, Integer limit, boolean includeDescription, Supplier<EventCatalogPage> loader) {
+        CatalogKey key = new CatalogKey(cursor == null || cursor.isBlank() ? null : cursor,
+                EventService.catalogPageSize(limit), includeDescription);
+        return singleFlight(catalogPages, key, () -> {
+            // an invalid cursor fails in the loader below, before it is decoded here
+            EventCatalogPage page = loader.get();
+            EventService.CatalogCursor after = key.cursor() == null ? null : EventService.decodeCursor(key.cursor());
+            List<EventSummaryDto> items = page.getItems();
+            EventSummaryDto lastItem = page.getNextCursor() == null || items.isEmpty() ? null : items.get(items.size() - 1);
+            return new CatalogEntry(serialize(page),
+                    after == null ? null : new Position(after.date(), after.id()),
+                    lastItem == null ? null : new Position(lastItem.getDate(), lastItem.getId()));
+        }).response();
+    }
+
+    public CachedResponse event(Integer eventId, Supplier<Event> loader) {
+        return singleFlight(eventDetails, eventId, () -> serialize(loader.get()));
+    }
+
+    /**
+     * An event was created, updated or deleted: drops its detail and the catalog pages covering its position
+     * before ({@code dateBefore}) or after ({@code dateAfter}) the write. Pass the same date twice for a create or delete.
+     */
+    public void onEventChanged(Integer eventId, Date dateBefore, Date dateAfter) {
+        if (eventId == null) {
+            return;
+        }
+        Position before = new Position(dateBefore, eventId);
+        Position after = new Position(dateAfter, eventId);
+        afterCommit(() -> {
+            eventDetails.invalidate(eventId);
+            catalogPages.asMap().values().removeIf(future ->
+                    // a page still being built has no known range yet: drop it, it may have read the old row
+                    !future.isDone() || future.isCompletedExceptionally()
+                            || future.join().covers(before) || future.join().covers(after));
+        });
+    }
+
+    /** The attendee list or approved count of an event changed: only its detail is affected. */
+    public void onAttendeesChanged(Integer eventId) {
+        if (eventId != null) {
+            afterCommit(() -> eventDetails.invalidate(eventId));
+        }
+    }
+
+    private <K, V> V singleFlight(Cache<K, CompletableFuture<V>> cache, K key, Supplier<V> builder) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = cache.get(key, k -> mine); // counts the hit or miss
+        if (existing == mine) {
+            try {
+                mine.complete(builder.get());
+            } catch (RuntimeException | Error ex) {
+                // not cached: the next request retries (e.g. the event was created meanwhile)
+                cache.asMap().remove(key, mine);
+                mine.completeExceptionally(ex);
+                throw ex;
+            }
+            return mine.join();
+        }
+        try {
+            return existing.join();
+        } catch (CompletionException ex) {
+            // the build we waited for failed: surface the same exception (404, 409, ...) to this caller
+            throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+        }
+    }
+
+    private CachedResponse serialize(Object body) {
+        try {
+            String etag = "\"" + Long.toString(versions.incrementAndGet(), 36) + "\"";
+            return new CachedResponse(objectMapper.writeValueAsBytes(body), etag);
+        } catch (Exception ex) {
+            throw new IllegalStateException("Could not serialize response: " + ex.getMessage(), ex);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.eventeanagementsystem.event_management_system.service;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory booking state of one event, used by SeatReservationEngine.
+ * A hold is an active (PENDING or APPROVED) request; holds are capped by maxAttendees.
+ * tryHold is lock-free (concurrent set + CAS), so thousands of threads can compete for the last seats.
+ */
+final class EventSeatState {
+
+    enum HoldResult {
+        GRANTED,
+        ALREADY_REQUESTED,
+        BANNED,
+        FULL
+    }
+
+    private final boolean unlimited;
+    private final AtomicInteger remaining;
+    private final Set<Integer> holders = ConcurrentHashMap.newKeySet();
+    private final Set<Integer> banned = ConcurrentHashMap.newKeySet();
+
+    // requests take the read lock; eviction takes the write lock so no hold is granted on a retired state
+    final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    volatile boolean retired;
+
+    EventSeatState(Integer maxAttendees, Set<Integer> activeUserIds, Set<Integer> bannedUserIds) {
+        this.unlimited = maxAttendees == null;
+        this.holders.addAll(activeUserIds);
+        this.banned.addAll(bannedUserIds);
+        this.remaining = new AtomicInteger(unlimited ? 0 : Math.max(0, maxAttendees - activeUserIds.size()));
+    }
+
+    HoldResult tryHold(int userId) {
+        if (banned.contains(userId)) {
+            return HoldResult.BANNED;
+        }
+        if (!holders.add(userId)) {
+            return HoldResult.ALREADY_REQUESTED;
+        }
+        if (unlimited) {
+            return HoldResult.GRANTED;
+        }
+        int left;
+        do {
+            left = remaining.get();
+            if (left <= 0) {
+                holders.remove(userId);
+                return HoldResult.FULL;
+            }
+        } while (!remaining.compareAndSet(left, left - 1));
+        return HoldResult.GRANTED;
+    }
+
+    void release(int userId) {
+        if (holders.remove(userId) && !unlimited) {
+            remaining.incrementAndGet();
+        }
+    }
+
+    void ban(int userId) {
+        banned.add(userId);
+        release(userId);
+    }
+
+    void unban(int userId) {
+        banned.remove(userId);
+    }
+
+    int remaining() {
+        return unlimited ? Integer.MAX_VALUE : remaining.get();
+    }
+}
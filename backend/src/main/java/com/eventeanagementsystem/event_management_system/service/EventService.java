@@ -1,60 +1,180 @@
 package com.eventeanagementsystem.event_management_system.service;
 
 import com.eventeanagementsystem.event_management_system.db.*;
+import com.eventeanagementsystem.event_management_system.dto.EventCatalogPage;
 import com.eventeanagementsystem.event_management_system.dto.EventStatsDto;
+import com.eventeanagementsystem.event_management_system.dto.EventSummaryDto;
+import com.eventeanagementsystem.event_management_system.exception.BadRequestException;
 import com.eventeanagementsystem.event_management_system.notification.NotificationService;
 import com.eventeanagementsystem.event_management_system.security.SecurityUtils;
+import io.micrometer.core.annotation.Timed;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "evently.service", histogram = true)
 public class EventService {
 
+    static final int DEFAULT_CATALOG_PAGE_SIZE = 20;
+    static final int MAX_CATALOG_PAGE_SIZE = 100;
+
     private final EventRepository eventRepository;
     private final OrganizerRepository organizerRepository;
     private final NotificationService notificationService;
+    private final SeatReservationEngine seatReservationEngine;
+    private final EventResponseCache eventResponseCache;
 
     @Autowired
     public EventService(EventRepository eventRepository,
                         OrganizerRepository organizerRepository,
-                        NotificationService notificationService) {
+                        NotificationService notificationService,
+                        SeatReservationEngine seatReservationEngine,
+                        EventResponseCache eventResponseCache) {
         this.organizerRepository = organizerRepository;
         this.eventRepository = eventRepository;
         this.notificationService = notificationService;
+        this.seatReservationEngine = seatReservationEngine;
+        this.eventResponseCache = eventResponseCache;
     }
 
     public Event addEvent(Event event, Integer organizerId) {
         Organizer organizer = organizerRepository.findById(organizerId)
                 .orElseThrow(()->new IllegalArgumentException("Organizer not found: " + organizerId));
         event.setOrganizer(organizer);
-        return eventRepository.save(event);
+        Event saved = eventRepository.save(event);
+        eventResponseCache.onEventChanged(saved.getId(), saved.getDate(), saved.getDate());
+        return saved;
     }
 
     /**
      * Create an event for the currently authenticated organizer (or admin acting as organizer).
-     * Uses the user email from the security context to resolve the Organizer record.
+     * Uses the organizer id carried in the token to resolve the Organizer record.
      */
     public Event addEventForCurrentOrganizer(Event event) {
+        Integer organizerId = currentOrganizerId();
+        Organizer organizer = organizerRepository.findById(organizerId)
+                .orElseThrow(() -> new IllegalStateException("Organizer profile not found: " + organizerId));
+
+        event.setOrganizer(organizer);
+        Event saved = eventRepository.save(event);
+        eventResponseCache.onEventChanged(saved.getId(), saved.getDate(), saved.getDate());
+        return saved;
+    }
+
+    /**
+     * Organizer id of the current user, taken from the token claims.
+     * Tokens issued before the id was embedded fall back to resolving the profile by email.
+     */
+    private Integer currentOrganizerId() {
+        Integer organizerId = SecurityUtils.getCurrentOrganizerId();
+        if (organizerId != null) {
+            return organizerId;
+        }
         String email = SecurityUtils.getCurrentUserEmail();
         if (email == null) {
             throw new IllegalStateException("No authenticated user");
         }
-
-        Organizer organizer = organizerRepository.findByUserEmail(email)
+        return organizerRepository.findByUserEmail(email)
+                .map(Organizer::getId)
                 .orElseThrow(() -> new IllegalStateException("Organizer profile not found for user " + email));
+    }
 
-        event.setOrganizer(organizer);
-        return eventRepository.save(event);
+    /**
+     * Public catalog, keyset-paginated on (date, id). Events without a date are listed after all dated ones.
+     * Each page costs the same regardless of its position: the cursor is the (date, id) of the last row served,
+     * and the next page starts right after it using the index instead of an OFFSET scan.
+     */
+    public EventCatalogPage listEventCatalog(String cursor, Integer limit, boolean includeDescription) {
+        int pageSize = catalogPageSize(limit);
+        // fetch one extra row to know whether there is a next page without a count query
+        int fetchSize = pageSize + 1;
+        CatalogCursor after = decodeCursor(cursor);
+
+        List<EventSummaryDto> rows;
+        if (after != null && after.date() == null) {
+            rows = eventRepository.findUndatedCatalogPageAfter(after.id(), PageRequest.of(0, fetchSize));
+        } else {
+            rows = new ArrayList<>(after == null
+                    ? eventRepository.findCatalogFirstPage(PageRequest.of(0, fetchSize))
+                    : eventRepository.findCatalogPageAfter(after.date(), after.id(), PageRequest.of(0, fetchSize)));
+            if (rows.size() < fetchSize) {
+                rows.addAll(eventRepository.findUndatedCatalogPageAfter(0, PageRequest.of(0, fetchSize - rows.size())));
+            }
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<EventSummaryDto> items = hasMore ? rows.subList(0, pageSize) : rows;
+
+        if (includeDescription && !items.isEmpty()) {
+            Map<Integer, String> descriptions = new HashMap<>();
+            for (Object[] row : eventRepository.findDescriptionsByIdIn(items.stream().map(EventSummaryDto::getId).toList())) {
+                descriptions.put((Integer) row[0], (String) row[1]);
+            }
+            items.forEach(item -> item.setDescription(descriptions.get(item.getId())));
+        }
+
+        String nextCursor = hasMore ? encodeCursor(items.get(items.size() - 1)) : null;
+        return new EventCatalogPage(new ArrayList<>(items), nextCursor);
     }
-    public List<Event> listEvents() {
-        return eventRepository.findAll();
+
+    static int catalogPageSize(Integer limit) {
+        return limit == null ? DEFAULT_CATALOG_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_CATALOG_PAGE_SIZE));
     }
+
+    record CatalogCursor(Date date, Integer id) {}
+
+    // cursor format (before base64url): "d:<epochMillis>:<id>" for dated events, "u:<id>" for undated ones
+    private static String encodeCursor(EventSummaryDto last) {
+        String raw = last.getDate() != null
+                ? "d:" + last.getDate().getTime() + ":" + last.getId()
+                : "u:" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static CatalogCursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            if (parts.length == 3 && parts[0].equals("d")) {
+                return new CatalogCursor(new Date(Long.parseLong(parts[1])), Integer.parseInt(parts[2]));
+            }
+            if (parts.length == 2 && parts[0].equals("u")) {
+                return new CatalogCursor(null, Integer.parseInt(parts[1]));
+            }
+        } catch (IllegalArgumentException ex) {
+            // falls through to the error below (NumberFormatException is an IllegalArgumentException too)
+        }
+        throw new BadRequestException("Invalid catalog cursor: pass the nextCursor of a previous page unchanged");
+    }
+
+    /**
+     * The event with its organizer and attendee list, as rendered by the event endpoints.
+     * Event, organizer and the organizer's user come from the second-level cache when present; the attendee list
+     * is one query.
+     */
+    @Transactional(readOnly = true)
     public Event getEventById(Integer id) {
-        return eventRepository.findById(id)
+        Event event = eventRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Event not found: " + id));
+        if (event.getOrganizer() != null) {
+            Hibernate.initialize(event.getOrganizer().getUser());
+        }
+        Hibernate.initialize(event.getAttendees());
+        return event;
     }
 
     public List<EventStatsDto> getEventsWithMostAttendees() {
@@ -76,6 +196,15 @@ public class EventService {
 
         // Organizer must own the event
         if (SecurityUtils.hasRole("ORGANIZER")) {
+            Integer organizerId = SecurityUtils.getCurrentOrganizerId();
+            if (organizerId != null) {
+                // ids come from the token; getId() on the organizer does not initialize it
+                if (event.getOrganizer() != null && organizerId.equals(event.getOrganizer().getId())) {
+                    return;
+                }
+                throw new SecurityException("You are not allowed to manage this event");
+            }
+
             String email = SecurityUtils.getCurrentUserEmail();
             String ownerEmail = event.getOrganizer() != null && event.getOrganizer().getUser() != null
                     ? event.getOrganizer().getUser().getEmail()
@@ -90,19 +219,20 @@ public class EventService {
     }
     
 
-    public List<Event> getMyEvents() {
-        String email = SecurityUtils.getCurrentUserEmail();
-        if (email == null) {
-            throw new IllegalStateException("No authenticated user");
-        }
-
-        Organizer organizer = organizerRepository.findByUserEmail(email)
-                .orElseThrow(() -> new IllegalStateException("Organizer profile not found for user " + email));
+    /** Throws unless the current user may manage the event (IllegalArgumentException if it does not exist). */
+    @Transactional(readOnly = true)
+    public void checkCanManageEvent(Integer eventId) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new IllegalArgumentException("Event not found: " + eventId));
+        ensureCanManageEvent(event);
+    }
 
-        return eventRepository.findByOrganizerId(organizer.getId());
+    public List<Event> getMyEvents() {
+        return eventRepository.findByOrganizerId(currentOrganizerId());
     }
 
     // Example: guard a management operation
+    @Transactional(readOnly = true)
     public List<Attendee> getAttendeesPerEvent(Integer eventId, AttendeeRepository attendeeRepository) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new IllegalArgumentException("Event not found: " + eventId));
@@ -111,12 +241,16 @@ public class EventService {
 
         return attendeeRepository.findByEventId(eventId);
     }
+    @Transactional
     public Event updateEvent(Integer id, Event updatedEvent) {
-        Event existing = getEventById(id);
+        // not getEventById: the attendee list stays unloaded, EventUpdateFanOut pages the recipients itself
+        Event existing = eventRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Event not found: " + id));
+        Hibernate.initialize(existing.getOrganizer());
         ensureCanManageEvent(existing);
 
         String oldName = existing.getName();
-        String oldDate = existing.getDate() != null ? existing.getDate().toString() : null;
+        Date previousDate = existing.getDate();
         String oldLocation = existing.getLocation();
 
         existing.setName(updatedEvent.getName());
@@ -126,14 +260,21 @@ public class EventService {
         existing.setImageUrl(updatedEvent.getImageUrl());
         existing.setMaxAttendees(updatedEvent.getMaxAttendees());
 
-        Event saved = eventRepository.save(existing);
-        notificationService.sendEventUpdated(saved, oldName, oldDate, oldLocation);
+        // flushed first: the row lock orders concurrent updates of the event before their emails are merged
+        Event saved = eventRepository.saveAndFlush(existing);
+        notificationService.queueEventUpdated(saved, oldName, previousDate, oldLocation);
+        seatReservationEngine.onEventChanged(id);
+        eventResponseCache.onEventChanged(id, previousDate, saved.getDate());
         return saved;
     }
 
+    @Transactional
     public void deleteEvent(Integer id) {
-        Event existing = getEventById(id);
+        Event existing = eventRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Event not found: " + id));
         ensureCanManageEvent(existing);
         eventRepository.delete(existing);
+        seatReservationEngine.onEventChanged(id);
+        eventResponseCache.onEventChanged(id, existing.getDate(), existing.getDate());
     }
 }
@@ -0,0 +1,322 @@
+package com.eventeanagementsystem.event_management_system.service;
+
+import com.eventeanagementsystem.event_management_system.db.*;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Booking path for ticket drops ({@code booking.mode=reserved}).
+ * Requests are granted or denied against in-memory per-event state (see EventSeatState) without touching the
+ * database, and granted requests are written to the attendee table behind the response, in batches.
+ * <p>
+ * In this mode active requests (PENDING + APPROVED) are capped at maxAttendees: once the seats are spoken for,
+ * further requests are refused as "full" until a request is rejected, cancelled or removed.
+ * The state of an event is loaded on its first request and dropped whenever the event itself changes;
+ * status transitions made through AttendeeService are applied to it after their transaction commits.
+ * <p>
+ * Limits of this mode:
+ * <ul>
+ *     <li>A granted request is answered (202 Accepted) before it is durable. A crash before the next flush loses
+ *     it, and a row that fails to write is only logged and its seat given back: the user is not told.</li>
+ *     <li>The state lives in this JVM, so the mode needs a single application instance. Behind several
+ *     instances each one would grant up to maxAttendees.</li>
+ * </ul>
+ */
+@Component
+public class SeatReservationEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatReservationEngine.class);
+
+    private final EventRepository eventRepository;
+    private final AttendeeRepository attendeeRepository;
+    private final AppUserRepository appUserRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final EventResponseCache eventResponseCache;
+
+    @Value("${booking.write-behind.batch-size:500}")
+    private int batchSize;
+    @Value("${booking.write-behind.flush-interval-ms:50}")
+    private long flushIntervalMs;
+
+    private final ConcurrentHashMap<Integer, EventSeatState> events = new ConcurrentHashMap<>();
+    private final BlockingQueue<Reservation> unflushed = new LinkedBlockingQueue<>();
+    // granted requests per event that are not written yet, queued or in a batch being written; guarded by itself
+    private final Map<Integer, Integer> unwritten = new HashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private ScheduledExecutorService flusher;
+
+    /** A granted request waiting to be written to the attendee table. */
+    record Reservation(Integer eventId, Integer userId, String name, String email) {}
+
+    public SeatReservationEngine(EventRepository eventRepository,
+                                 AttendeeRepository attendeeRepository,
+                                 AppUserRepository appUserRepository,
+                                 TransactionTemplate transactionTemplate,
+                                 EventResponseCache eventResponseCache) {
+        this.eventRepository = eventRepository;
+        this.attendeeRepository = attendeeRepository;
+        this.appUserRepository = appUserRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventResponseCache = eventResponseCache;
+    }
+
+    @PostConstruct
+    void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "seat-reservation-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(10, TimeUnit.SECONDS);
+        flush(); // nothing granted is lost on a clean shutdown
+    }
+
+    /**
+     * Grants or denies a request of the user for the event. A granted request is queued for writing;
+     * the attendee row appears within booking.write-behind.flush-interval-ms.
+     */
+    public EventSeatState.HoldResult reserve(int eventId, int userId, String name, String email) {
+        while (true) {
+            EventSeatState state = stateOf(eventId);
+            Lock read = state.lock.readLock();
+            read.lock();
+            try {
+                if (state.retired) {
+                    continue; // evicted meanwhile, retry on the reloaded state
+                }
+                EventSeatState.HoldResult result = state.tryHold(userId);
+                if (result == EventSeatState.HoldResult.GRANTED) {
+                    synchronized (unwritten) {
+                        unwritten.merge(eventId, 1, Integer::sum);
+                    }
+                    unflushed.add(new Reservation(eventId, userId, name, email));
+                }
+                return result;
+            } finally {
+                read.unlock();
+            }
+        }
+    }
+
+    // ------------------------
+    // Hooks for status transitions (applied after the caller's transaction commits)
+    // ------------------------
+
+    /** A request was rejected, cancelled or removed: its seat can be requested again. */
+    public void onReleased(Integer eventId, Integer userId) {
+        afterCommitFor(eventId, userId, state -> state.release(userId));
+    }
+
+    public void onBanned(Integer eventId, Integer userId) {
+        afterCommitFor(eventId, userId, state -> state.ban(userId));
+    }
+
+    public void onUnbanned(Integer eventId, Integer userId) {
+        afterCommitFor(eventId, userId, state -> state.unban(userId));
+    }
+
+    /** The event (capacity, existence) or its attendee list changed outside the engine: reload on next request. */
+    public void onEventChanged(Integer eventId) {
+        if (eventId != null) {
+            afterCommit(() -> evict(eventId));
+        }
+    }
+
+    // attendees without a user account are never tracked by the engine
+    private void afterCommitFor(Integer eventId, Integer userId, Consumer<EventSeatState> action) {
+        if (eventId != null && userId != null) {
+            afterCommit(() -> withState(eventId, action));
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void withState(Integer eventId, Consumer<EventSeatState> action) {
+        EventSeatState state = events.get(eventId);
+        if (state != null) {
+            action.accept(state);
+        }
+    }
+
+    void evict(Integer eventId) {
+        EventSeatState state = events.get(eventId);
+        if (state == null) {
+            return;
+        }
+        Lock write = state.lock.writeLock();
+        write.lock();
+        try {
+            state.retired = true;
+            events.remove(eventId, state);
+        } finally {
+            write.unlock();
+        }
+    }
+
+    // ------------------------
+    // Loading
+    // ------------------------
+
+    private EventSeatState stateOf(int eventId) {
+        EventSeatState state = events.get(eventId);
+        if (state != null) {
+            return state;
+        }
+        EventSeatState loaded = load(eventId);
+        state = events.putIfAbsent(eventId, loaded);
+        return state != null ? state : loaded;
+    }
+
+    private EventSeatState load(int eventId) {
+        // requests granted by an evicted state may not be written yet: write them first so the reload counts them
+        writeQueued(eventId);
+        awaitWritten(eventId);
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new IllegalArgumentException("Event not found: " + eventId));
+        Set<Integer> active = new HashSet<>();
+        Set<Integer> banned = new HashSet<>();
+        for (Object[] row : attendeeRepository.findBlockingRequestsByEventId(eventId)) {
+            Integer userId = (Integer) row[0];
+            if (row[1] == AttendanceStatus.BANNED) {
+                banned.add(userId);
+            } else {
+                active.add(userId);
+            }
+        }
+        return new EventSeatState(event.getMaxAttendees(), active, banned);
+    }
+
+    // ------------------------
+    // Write-behind
+    // ------------------------
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception ex) {
+            // never let an exception cancel the periodic task
+            log.error("Seat reservation flush failed", ex);
+        }
+    }
+
+    /** Writes everything queued so far, one transaction per batch. */
+    void flush() {
+        flushLock.lock();
+        try {
+            List<Reservation> batch = new ArrayList<>(batchSize);
+            while (unflushed.drainTo(batch, batchSize) > 0) {
+                persist(batch);
+                batch.clear();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // writes this event's queued requests on the calling thread instead of waiting for the flusher
+    private void writeQueued(int eventId) {
+        List<Reservation> queued = new ArrayList<>();
+        unflushed.removeIf(reservation -> reservation.eventId() == eventId && queued.add(reservation));
+        for (int from = 0; from < queued.size(); from += batchSize) {
+            persist(queued.subList(from, Math.min(from + batchSize, queued.size())));
+        }
+    }
+
+    // the flusher may have drained some of them already; only those are waited for
+    private void awaitWritten(int eventId) {
+        synchronized (unwritten) {
+            while (unwritten.containsKey(eventId)) {
+                try {
+                    unwritten.wait();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while loading seats of event " + eventId, ex);
+                }
+            }
+        }
+    }
+
+    private void persist(List<Reservation> batch) {
+        try {
+            write(batch);
+        } finally {
+            synchronized (unwritten) {
+                batch.forEach(reservation -> unwritten.computeIfPresent(reservation.eventId(),
+                        (eventId, count) -> count > 1 ? count - 1 : null));
+                unwritten.notifyAll();
+            }
+        }
+    }
+
+    private void write(List<Reservation> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(tx -> attendeeRepository.saveAll(batch.stream().map(this::toAttendee).toList()));
+        } catch (Exception batchFailure) {
+            // one bad row (e.g. its event was deleted) must not cost the others their seat: retry one by one
+            for (Reservation reservation : batch) {
+                try {
+                    transactionTemplate.executeWithoutResult(tx -> attendeeRepository.save(toAttendee(reservation)));
+                } catch (Exception ex) {
+                    log.error("Dropping reservation of user {} for event {}", reservation.userId(), reservation.eventId(), ex);
+                    withState(reservation.eventId(), state -> state.release(reservation.userId()));
+                }
+            }
+        }
+        // the new rows are part of the event detail responses
+        batch.stream().map(Reservation::eventId).distinct().forEach(eventResponseCache::onAttendeesChanged);
+    }
+
+    private Attendee toAttendee(Reservation reservation) {
+        Attendee attendee = new Attendee();
+        attendee.setName(reservation.name());
+        attendee.setEmail(reservation.email());
+        attendee.setEvent(eventRepository.getReferenceById(reservation.eventId()));
+        attendee.setUser(appUserRepository.getReferenceById(reservation.userId()));
+        attendee.setStatus(AttendanceStatus.PENDING);
+        return attendee;
+    }
+
+    int pendingWrites() {
+        return unflushed.size();
+    }
+}
@@ -0,0 +1,40 @@
+-- Schema as Hibernate (ddl-auto=update) created it before migrations were introduced.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate) and skip this script.
+
+CREATE TABLE app_user (
+    id       integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email    varchar(255) NOT NULL,
+    password varchar(255) NOT NULL,
+    role     varchar(255),
+    CONSTRAINT uq_app_user_email UNIQUE (email)
+);
+
+CREATE TABLE organizer (
+    id      integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name    varchar(100),
+    email   varchar(255),
+    user_id integer REFERENCES app_user (id),
+    -- one profile per user; also serves OrganizerRepository.findByUserId / findByUserEmail
+    CONSTRAINT uq_organizer_user UNIQUE (user_id)
+);
+
+CREATE TABLE event (
+    id            integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name          varchar(255),
+    creation_date timestamp(6),
+    date          timestamp(6),
+    location      varchar(255),
+    description   text,
+    image_url     varchar(255),
+    max_attendees integer,
+    organizer_id  integer REFERENCES organizer (id)
+);
+
+CREATE TABLE attendee (
+    id       integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name     varchar(255),
+    email    varchar(255),
+    status   varchar(255) NOT NULL,
+    event_id integer REFERENCES event (id),
+    user_id  integer REFERENCES app_user (id)
+);
@@ -0,0 +1,6 @@
+-- Denormalized number of APPROVED attendees, maintained by the conditional UPDATEs in EventRepository.
+ALTER TABLE event ADD COLUMN IF NOT EXISTS approved_count integer NOT NULL DEFAULT 0;
+
+UPDATE event e
+  SET approved_count = (SELECT COUNT(*) FROM attendee a WHERE a.event_id = e.id AND a.status = 'APPROVED')
+  WHERE e.approved_count <> (SELECT COUNT(*) FROM attendee a WHERE a.event_id = e.id AND a.status = 'APPROVED');
@@ -0,0 +1,15 @@
+-- Notification emails queued with the status change that triggers them (see NotificationDispatcher).
+CREATE TABLE IF NOT EXISTS notification_outbox (
+    id              bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    type            varchar(255) NOT NULL,
+    attendee_id     integer,
+    event_id        integer,
+    payload         jsonb,
+    status          varchar(255) NOT NULL,
+    attempts        integer NOT NULL,
+    next_attempt_at timestamp(6) with time zone NOT NULL,
+    last_error      text,
+    created_at      timestamp(6) with time zone
+);
+
+CREATE INDEX IF NOT EXISTS idx_notification_outbox_due ON notification_outbox (status, next_attempt_at);
@@ -0,0 +1,24 @@
+-- Keep the CHECK constraint in sync with AttendanceStatus (older databases lack BANNED).
+ALTER TABLE attendee DROP CONSTRAINT IF EXISTS attendee_status_check;
+ALTER TABLE attendee
+  ADD CONSTRAINT attendee_status_check
+  CHECK (status IN ('PENDING', 'APPROVED', 'REJECTED', 'CANCELED', 'BANNED'));
+
+-- At most one active (PENDING/APPROVED) request per user and event.
+-- Duplicates left by the old unchecked insert path are cancelled first, keeping the approved or the oldest one.
+UPDATE attendee a
+  SET status = 'CANCELED'
+  WHERE a.status IN ('PENDING', 'APPROVED') AND a.user_id IS NOT NULL AND a.event_id IS NOT NULL
+    AND EXISTS (SELECT 1 FROM attendee b
+                WHERE b.user_id = a.user_id AND b.event_id = a.event_id AND b.id <> a.id
+                  AND b.status IN ('PENDING', 'APPROVED')
+                  AND ((b.status = 'APPROVED' AND a.status = 'PENDING') OR (b.status = a.status AND b.id < a.id)));
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_attendee_active_request
+  ON attendee (user_id, event_id)
+  WHERE status IN ('PENDING', 'APPROVED');
+
+-- cancelled duplicates may have been APPROVED
+UPDATE event e
+  SET approved_count = (SELECT COUNT(*) FROM attendee a WHERE a.event_id = e.id AND a.status = 'APPROVED')
+  WHERE e.approved_count <> (SELECT COUNT(*) FROM attendee a WHERE a.event_id = e.id AND a.status = 'APPROVED');
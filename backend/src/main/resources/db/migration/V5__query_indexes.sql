@@ -0,0 +1,14 @@
+-- Indexes behind the repository finders.
+
+-- EventRepository catalog keyset pagination (ORDER BY date, id)
+CREATE INDEX IF NOT EXISTS idx_event_date_id ON event (date, id);
+-- EventRepository.findByOrganizerId ("my events", listed by date)
+CREATE INDEX IF NOT EXISTS idx_event_organizer_date ON event (organizer_id, date);
+
+-- AttendeeRepository.findByEventId / findByEventIdAndStatus / findBlockingRequestsByEventId
+CREATE INDEX IF NOT EXISTS idx_attendee_event_status ON attendee (event_id, status);
+-- AttendeeRepository.findBlockingStatuses; its user_id prefix also serves findByUserId / findByUserEmail,
+-- so no separate attendee(user_id) index is needed
+CREATE INDEX IF NOT EXISTS idx_attendee_user_event ON attendee (user_id, event_id);
+
+-- organizer(user_id) is covered by its unique constraint (uq_organizer_user in V1)
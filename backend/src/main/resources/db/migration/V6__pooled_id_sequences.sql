@@ -0,0 +1,21 @@
+-- Ids of app_user, organizer, event and attendee come from pooled sequences (allocationSize = 50 in the entities):
+-- Hibernate reserves 50 ids per nextval and can batch the INSERTs, which IDENTITY columns rule out.
+-- The identity defaults are dropped so nothing hands out ids from the old identity sequences any more.
+-- Each sequence starts 50 above the current maximum: the pooled optimizer uses the returned value as the upper
+-- end of its block, so the first block starts right after the existing rows.
+
+ALTER TABLE app_user ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS app_user_seq INCREMENT BY 50;
+SELECT setval('app_user_seq', COALESCE((SELECT MAX(id) FROM app_user), 0) + 50, false);
+
+ALTER TABLE organizer ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS organizer_seq INCREMENT BY 50;
+SELECT setval('organizer_seq', COALESCE((SELECT MAX(id) FROM organizer), 0) + 50, false);
+
+ALTER TABLE event ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS event_seq INCREMENT BY 50;
+SELECT setval('event_seq', COALESCE((SELECT MAX(id) FROM event), 0) + 50, false);
+
+ALTER TABLE attendee ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS attendee_seq INCREMENT BY 50;
+SELECT setval('attendee_seq', COALESCE((SELECT MAX(id) FROM attendee), 0) + 50, false);
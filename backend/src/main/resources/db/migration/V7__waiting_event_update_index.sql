@@ -0,0 +1,5 @@
+-- NotificationOutboxRepository.lockWaitingEventUpdate: the not yet claimed event-wide update of an event,
+-- looked up on every event update to merge the new edit into it.
+CREATE INDEX IF NOT EXISTS idx_notification_outbox_waiting_event_update
+  ON notification_outbox (event_id)
+  WHERE type = 'EVENT_UPDATED' AND attendee_id IS NULL AND status = 'PENDING' AND attempts = 0;
@@ -0,0 +1,34 @@
+package com.eventeanagementsystem.event_management_system;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/** A malformed or tampered catalog cursor is the client's mistake: 400, not 404. */
+@AutoConfigureMockMvc
+class EventCatalogCursorTest extends PostgresIntegrationTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@ParameterizedTest
+	@ValueSource(strings = {"not base64!", "x:1", "d:soon:1", "u:1:2"})
+	void invalidCursorIsABadRequest(String raw) throws Exception {
+		String cursor = raw.contains("!") ? raw
+				: Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+
+		mockMvc.perform(get("/api/events").param("cursor", cursor))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message").value(containsString("Invalid catalog cursor")));
+	}
+}
@@ -0,0 +1,33 @@
+package com.eventeanagementsystem.event_management_system;
+
+import com.eventeanagementsystem.event_management_system.security.JwtUtil;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Base class for tests that need a real PostgreSQL (conditional UPDATEs, SKIP LOCKED, ...).
+ * One container is shared by all subclasses for the whole test run.
+ * The outbox dispatcher is disabled so tests never try to reach Ollama or SMTP,
+ * and generated texts are not written to disk.
+ */
+@SpringBootTest(properties = {
+		"notification.outbox.enabled=false",
+		"ollama.disk-cache.enabled=false",
+		"spring.jpa.show-sql=false"
+})
+public abstract class PostgresIntegrationTest {
+
+	@ServiceConnection
+	static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+	static {
+		POSTGRES.start();
+	}
+
+	// JWT_SECRET comes from .env, which tests don't have
+	@MockBean
+	protected JwtUtil jwtUtil;
+
+}
@@ -0,0 +1,155 @@
+package com.eventeanagementsystem.event_management_system;
+
+import com.eventeanagementsystem.event_management_system.db.*;
+import com.eventeanagementsystem.event_management_system.metrics.QueryCountInspector;
+import com.eventeanagementsystem.event_management_system.security.VerifiedToken;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * SQL statements per HTTP call, counted by QueryCountInspector (the same counter behind the
+ * http.server.requests.queries metric). Every endpoint is called against a small and a ten times larger dataset:
+ * the count must not grow with the number of rows (no N+1) and must stay within a fixed bound.
+ * The measured call is the second one, so rows served by the second-level cache do not count.
+ */
+@AutoConfigureMockMvc
+class QueryCountRegressionTest extends PostgresIntegrationTest {
+
+	private static final int SMALL = 3;
+	private static final int LARGE = 30;
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private AppUserRepository appUserRepository;
+	@Autowired
+	private OrganizerRepository organizerRepository;
+	@Autowired
+	private EventRepository eventRepository;
+	@Autowired
+	private AttendeeRepository attendeeRepository;
+
+	/** One organizer with {@code size} events, each with {@code size} attendees; one attendee user is in all of them. */
+	private record Dataset(String organizerToken, String attendeeToken, List<Integer> eventIds) {
+		Integer firstEvent() {
+			return eventIds.get(0);
+		}
+	}
+
+	@Test
+	void catalog() throws Exception {
+		assertQueryBound(1, data -> "/api/events?limit=5", data -> null);
+	}
+
+	@Test
+	void catalogWithDescriptions() throws Exception {
+		assertQueryBound(2, data -> "/api/events?limit=5&includeDescription=true", data -> null);
+	}
+
+	@Test
+	void eventDetail() throws Exception {
+		assertQueryBound(1, data -> "/api/events/" + data.firstEvent(), data -> null);
+	}
+
+	@Test
+	void attendeesOfEvent() throws Exception {
+		assertQueryBound(1, data -> "/api/events/" + data.firstEvent() + "/attendees", Dataset::organizerToken);
+	}
+
+	@Test
+	void pendingRequestsOfEvent() throws Exception {
+		assertQueryBound(1, data -> "/api/events/" + data.firstEvent() + "/requests", Dataset::organizerToken);
+	}
+
+	@Test
+	void organizerEvents() throws Exception {
+		assertQueryBound(1, data -> "/api/me/events", Dataset::organizerToken);
+	}
+
+	@Test
+	void myRequests() throws Exception {
+		assertQueryBound(1, data -> "/api/me/requests", Dataset::attendeeToken);
+	}
+
+	@Test
+	void attendingEvents() throws Exception {
+		assertQueryBound(1, data -> "/api/me/attending-events", Dataset::attendeeToken);
+	}
+
+	@Test
+	void upcomingAttendingEventsPage() throws Exception {
+		assertQueryBound(1, data -> "/api/me/attending-events?when=upcoming&page=0&size=10", Dataset::attendeeToken);
+	}
+
+	private void assertQueryBound(int maxQueries, Function<Dataset, String> path, Function<Dataset, String> token) throws Exception {
+		Dataset small = seed(SMALL);
+		Dataset large = seed(LARGE);
+
+		int smallCount = queriesFor(path.apply(small), token.apply(small));
+		int largeCount = queriesFor(path.apply(large), token.apply(large));
+
+		assertThat(largeCount).as("queries with %d rows vs %d rows", LARGE, SMALL).isEqualTo(smallCount);
+		assertThat(largeCount).as("queries for %s", path.apply(large)).isLessThanOrEqualTo(maxQueries);
+	}
+
+	private int queriesFor(String path, String token) throws Exception {
+		var request = get(path);
+		if (token != null) {
+			request.header("Authorization", "Bearer " + token);
+		}
+		mockMvc.perform(request).andExpect(status().isOk());
+		QueryCountInspector.reset();
+		mockMvc.perform(request).andExpect(status().isOk());
+		return QueryCountInspector.current();
+	}
+
+	private Dataset seed(int size) {
+		String run = size + "-" + System.nanoTime();
+		AppUser organizerUser = appUserRepository.save(new AppUser(null, "organizer-" + run + "@example.com", "n/a", UserRole.ORGANIZER));
+		Organizer organizer = organizerRepository.save(new Organizer(null, "Organizer " + run, organizerUser.getEmail(), null, organizerUser));
+		AppUser attendeeUser = appUserRepository.save(new AppUser(null, "attendee-" + run + "@example.com", "n/a", UserRole.ATTENDEE));
+
+		List<Integer> eventIds = new ArrayList<>();
+		for (int e = 0; e < size; e++) {
+			Event event = new Event();
+			event.setName("Event " + run + "/" + e);
+			event.setDate(new Date(System.currentTimeMillis() + 86_400_000L * (e + 1)));
+			event.setOrganizer(organizer);
+			event = eventRepository.save(event);
+			eventIds.add(event.getId());
+
+			List<Attendee> attendees = new ArrayList<>();
+			attendees.add(new Attendee(null, "Regular", attendeeUser.getEmail(), event, AttendanceStatus.APPROVED, attendeeUser));
+			for (int a = 0; a < size; a++) {
+				AppUser user = appUserRepository.save(new AppUser(null, "guest" + a + "-" + e + "-" + run + "@example.com", "n/a", UserRole.ATTENDEE));
+				attendees.add(new Attendee(null, "Guest " + a, user.getEmail(), event, AttendanceStatus.PENDING, user));
+			}
+			attendeeRepository.saveAll(attendees);
+		}
+
+		return new Dataset(
+				token(organizerUser, organizer.getId(), "ORGANIZER"),
+				token(attendeeUser, null, "ATTENDEE"),
+				eventIds);
+	}
+
+	// JwtUtil is mocked by the base class: map an opaque token to verified claims (no DB lookup, like real tokens)
+	private String token(AppUser user, Integer organizerId, String role) {
+		String token = "token-" + user.getId();
+		when(jwtUtil.verify(token)).thenReturn(new VerifiedToken(
+				user.getEmail(), user.getId(), organizerId, List.of(role), new Date(System.currentTimeMillis() + 3_600_000L)));
+		return token;
+	}
+}
@@ -0,0 +1,65 @@
+package com.eventeanagementsystem.event_management_system;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The schema comes from the Flyway migrations (Hibernate only validates it).
+ * Checks that a boot against an up-to-date database applies no migration,
+ * and that the repository finders are planned on their indexes.
+ */
+class SchemaMigrationTest extends PostgresIntegrationTest {
+
+	@Autowired
+	private Flyway flyway;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void migrationsRunOnceAndRebootAppliesNothing() {
+		assertThat(flyway.info().applied()).hasSizeGreaterThanOrEqualTo(5);
+		assertThat(flyway.info().pending()).isEmpty();
+
+		// what every later boot does: read the history table, verify checksums, apply nothing
+		assertThat(flyway.migrate().migrationsExecuted).isZero();
+		assertThat(flyway.info().pending()).isEmpty();
+	}
+
+	@ParameterizedTest
+	@CsvSource(delimiter = '|', quoteCharacter = '"', value = {
+			// AttendeeRepository
+			"SELECT * FROM attendee WHERE event_id = 1 AND status = 'PENDING'                  | idx_attendee_event_status",
+			"SELECT * FROM attendee WHERE event_id = 1                                         | idx_attendee_event_status",
+			"SELECT * FROM attendee WHERE user_id = 1                                          | idx_attendee_user_event",
+			"SELECT status FROM attendee WHERE user_id = 1 AND event_id = 1 AND status IN ('PENDING', 'APPROVED', 'BANNED') | idx_attendee_user_event",
+			// EventRepository
+			"SELECT * FROM event WHERE organizer_id = 1                                        | idx_event_organizer_date",
+			"SELECT id FROM event WHERE date IS NOT NULL ORDER BY date, id LIMIT 21            | idx_event_date_id",
+			"SELECT id FROM event WHERE date > '2030-01-01' OR (date = '2030-01-01' AND id > 5) ORDER BY date, id LIMIT 21 | idx_event_date_id",
+			// OrganizerRepository
+			"SELECT * FROM organizer WHERE user_id = 1                                         | uq_organizer_user",
+			// NotificationOutboxRepository
+			"SELECT * FROM notification_outbox WHERE type = 'EVENT_UPDATED' AND event_id = 1 AND attendee_id IS NULL AND status = 'PENDING' AND attempts = 0 | idx_notification_outbox_waiting_event_update"
+	})
+	void finderUsesIndex(String sql, String expectedIndex) {
+		List<String> plan = transactionTemplate.execute(status -> {
+			// the test tables are tiny, so a sequential scan would always win; we want to know an index can serve it
+			jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+			return jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+		});
+
+		String text = String.join("\n", plan);
+		assertThat(text).as(text).contains(expectedIndex).doesNotContain("Seq Scan");
+	}
+}
@@ -0,0 +1,129 @@
+package com.eventeanagementsystem.event_management_system;
+
+import com.eventeanagementsystem.event_management_system.db.*;
+import com.eventeanagementsystem.event_management_system.dto.UpdateCredentialsRequest;
+import com.eventeanagementsystem.event_management_system.security.AuthenticatedUser;
+import com.eventeanagementsystem.event_management_system.service.AuthService;
+import com.eventeanagementsystem.event_management_system.service.EventService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Second-level and query cache: repeated reads are served from memory, and every write path
+ * (updateEvent, deleteEvent, seat counter UPDATEs, updateCredentials) is visible to the next read.
+ */
+class SecondLevelCacheTest extends PostgresIntegrationTest {
+
+	@Autowired
+	private EventService eventService;
+	@Autowired
+	private AuthService authService;
+	@Autowired
+	private EventRepository eventRepository;
+	@Autowired
+	private OrganizerRepository organizerRepository;
+	@Autowired
+	private AppUserRepository appUserRepository;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private Statistics statistics;
+	private AppUser user;
+	private Organizer organizer;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		user = appUserRepository.save(new AppUser(null, "cached-" + System.nanoTime() + "@example.com", "n/a", UserRole.ORGANIZER));
+		organizer = organizerRepository.save(new Organizer(null, "Cached organizer", user.getEmail(), null, user));
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+				new AuthenticatedUser(user.getEmail(), user.getId(), organizer.getId()), null,
+				List.of(new SimpleGrantedAuthority("ROLE_ORGANIZER"))));
+	}
+
+	@AfterEach
+	void clearContext() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void repeatedEventReadsHitTheCache() {
+		Integer id = newEvent("Cached").getId();
+		eventService.getEventById(id);
+
+		long hits = statistics.getDomainDataRegionStatistics("event").getHitCount();
+		eventService.getEventById(id);
+
+		assertThat(statistics.getDomainDataRegionStatistics("event").getHitCount()).isGreaterThan(hits);
+	}
+
+	@Test
+	void updateAndDeleteAreVisibleToCachedReads() {
+		Event event = newEvent("Before");
+		eventService.getEventById(event.getId());
+
+		Event changes = new Event();
+		changes.setName("After");
+		eventService.updateEvent(event.getId(), changes);
+		assertThat(eventService.getEventById(event.getId()).getName()).isEqualTo("After");
+
+		eventService.deleteEvent(event.getId());
+		assertThatThrownBy(() -> eventService.getEventById(event.getId()))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void seatCounterUpdatesEvictTheCachedEvent() {
+		Event event = newEvent("Seats");
+		eventRepository.findById(event.getId());
+
+		transactionTemplate.executeWithoutResult(tx -> eventRepository.tryReserveSeat(event.getId()));
+
+		assertThat(eventRepository.findById(event.getId()).orElseThrow().getApprovedCount()).isEqualTo(1);
+	}
+
+	@Test
+	void emailLookupsFollowCredentialChanges() {
+		String oldEmail = user.getEmail();
+		assertThat(appUserRepository.findByEmail(oldEmail)).isPresent();
+		assertThat(organizerRepository.findByUserEmail(oldEmail)).isPresent();
+
+		long hits = statistics.getQueryCacheHitCount();
+		appUserRepository.findByEmail(oldEmail);
+		assertThat(statistics.getQueryCacheHitCount()).isGreaterThan(hits);
+
+		String newEmail = "renamed-" + System.nanoTime() + "@example.com";
+		UpdateCredentialsRequest request = new UpdateCredentialsRequest();
+		request.setEmail(newEmail);
+		authService.updateCredentials(oldEmail, request);
+
+		assertThat(appUserRepository.findByEmail(oldEmail)).isEmpty();
+		assertThat(organizerRepository.findByUserEmail(oldEmail)).isEmpty();
+		assertThat(appUserRepository.findByEmail(newEmail)).map(AppUser::getId).contains(user.getId());
+		assertThat(organizerRepository.findByUserEmail(newEmail)).map(Organizer::getId).contains(organizer.getId());
+	}
+
+	private Event newEvent(String name) {
+		Event event = new Event();
+		event.setName(name);
+		event.setMaxAttendees(10);
+		event.setOrganizer(organizer);
+		return eventRepository.save(event);
+	}
+}
@@ -0,0 +1,299 @@
+package com.eventeanagementsystem.event_management_system.loadtest;
+
+import com.eventeanagementsystem.event_management_system.db.*;
+import com.eventeanagementsystem.event_management_system.security.JwtUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.cdimascio.dotenv.Dotenv;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Offline reproduction of production traffic: the full application on a random port against its own Postgres,
+ * with an in-process SMTP sink and a stub Ollama, driven by a mix of catalog browsing, booking requests,
+ * approvals and event updates (which fan out notification emails).
+ * <p>
+ * Not part of the normal build; run with {@code ./mvnw -Ploadtest test}. Tunable with system properties:
+ * <ul>
+ *     <li>loadtest.duration-s (60), loadtest.users (32): length of the run and concurrent virtual users</li>
+ *     <li>loadtest.events (200), loadtest.attendees (2000), loadtest.organizers (10): synthetic dataset</li>
+ *     <li>loadtest.mix ("browse:70,book:20,approve:8,update:2"): relative weight of each action</li>
+ *     <li>loadtest.ollama.latency-ms (800), loadtest.ollama.failure-rate (0.05): stub Ollama behaviour</li>
+ * </ul>
+ * Prints p50/p95/p99 latency and throughput per endpoint and writes them to target/loadtest-report.csv.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"spring.jpa.show-sql=false",
+		"spring.mail.properties.mail.smtp.auth=false",
+		"spring.mail.properties.mail.smtp.starttls.enable=false"
+})
+class BookingLoadTest {
+
+	private static final String JWT_SECRET = "load-test-secret-load-test-secret-load-test-secret-0123456789";
+
+	@ServiceConnection
+	static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+	static final SmtpSink SMTP;
+	static final StubOllamaServer OLLAMA;
+
+	static {
+		POSTGRES.start();
+		try {
+			SMTP = new SmtpSink();
+			OLLAMA = new StubOllamaServer(
+					Long.getLong("loadtest.ollama.latency-ms", 800),
+					Double.parseDouble(System.getProperty("loadtest.ollama.failure-rate", "0.05")));
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	@DynamicPropertySource
+	static void externalServices(DynamicPropertyRegistry registry) {
+		registry.add("spring.mail.host", () -> "localhost");
+		registry.add("spring.mail.port", SMTP::port);
+		registry.add("ollama.base-url", OLLAMA::baseUrl);
+	}
+
+	@TestConfiguration
+	static class LoadTestSecrets {
+		// JwtUtil reads its secret from .env, which the checkout doesn't have
+		@Bean
+		@Primary
+		Dotenv loadTestDotenv() throws IOException {
+			Path dir = Files.createTempDirectory("loadtest-env");
+			Files.writeString(dir.resolve(".env"), "JWT_SECRET=" + JWT_SECRET + "\n");
+			return Dotenv.configure().directory(dir.toString()).load();
+		}
+	}
+
+	@AfterAll
+	static void stopServices() throws IOException {
+		SMTP.close();
+		OLLAMA.close();
+	}
+
+	@LocalServerPort
+	private int port;
+	@Autowired
+	private AppUserRepository appUserRepository;
+	@Autowired
+	private OrganizerRepository organizerRepository;
+	@Autowired
+	private EventRepository eventRepository;
+	@Autowired
+	private JwtUtil jwtUtil;
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+	private final LatencyReport report = new LatencyReport();
+
+	private record Attender(AppUser user, String token) {}
+
+	private record SeededEvent(Event event, String organizerToken) {}
+
+	private final List<Attender> attenders = new ArrayList<>();
+	private final List<SeededEvent> events = new ArrayList<>();
+
+	@Test
+	void mixedTraffic() throws Exception {
+		seed(Integer.getInteger("loadtest.organizers", 10),
+				Integer.getInteger("loadtest.events", 200),
+				Integer.getInteger("loadtest.attendees", 2000));
+		Map<String, Integer> mix = parseMix(System.getProperty("loadtest.mix", "browse:70,book:20,approve:8,update:2"));
+		int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+		int users = Integer.getInteger("loadtest.users", 32);
+		long durationNanos = TimeUnit.SECONDS.toNanos(Long.getLong("loadtest.duration-s", 60));
+
+		ExecutorService pool = Executors.newFixedThreadPool(users);
+		long start = System.nanoTime();
+		long deadline = start + durationNanos;
+		List<Future<?>> running = new ArrayList<>();
+		for (int i = 0; i < users; i++) {
+			running.add(pool.submit(() -> {
+				while (System.nanoTime() < deadline) {
+					runOne(pick(mix, totalWeight));
+				}
+				return null;
+			}));
+		}
+		for (Future<?> user : running) {
+			user.get();
+		}
+		long elapsed = System.nanoTime() - start;
+		pool.shutdown();
+
+		report.lines(elapsed).forEach(System.out::println);
+		System.out.printf("stub ollama: %d calls (%d failed), smtp sink: %d messages%n",
+				OLLAMA.calls.get(), OLLAMA.failures.get(), SMTP.messages.get());
+		report.write(Path.of("target", "loadtest-report.csv"), elapsed);
+
+		assertThat(report.serverErrors()).as("5xx responses").isZero();
+	}
+
+	// ------------------------
+	// Actions
+	// ------------------------
+
+	private void runOne(String action) throws Exception {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		SeededEvent target = events.get(random.nextInt(events.size()));
+		Integer eventId = target.event().getId();
+		switch (action) {
+			case "browse" -> {
+				JsonNode page = send("GET /api/events", HttpRequest.newBuilder(uri("/api/events?limit=20")).GET());
+				// a third of the visitors look at the next page too
+				if (page != null && page.hasNonNull("nextCursor") && random.nextInt(3) == 0) {
+					send("GET /api/events?cursor", HttpRequest.newBuilder(
+							uri("/api/events?limit=20&cursor=" + page.get("nextCursor").asText())).GET());
+				}
+			}
+			case "book" -> {
+				Attender attender = attenders.get(random.nextInt(attenders.size()));
+				Map<String, String> body = Map.of("name", "Load " + attender.user().getId(), "email", attender.user().getEmail());
+				send("POST /api/events/{id}/requests", json(HttpRequest.newBuilder(uri("/api/events/" + eventId + "/requests")), "POST", body)
+						.header("Authorization", "Bearer " + attender.token()));
+			}
+			case "approve" -> {
+				JsonNode pending = send("GET /api/events/{id}/requests", HttpRequest.newBuilder(uri("/api/events/" + eventId + "/requests"))
+						.header("Authorization", "Bearer " + target.organizerToken()).GET());
+				if (pending != null && pending.isArray() && !pending.isEmpty()) {
+					int attendeeId = pending.get(random.nextInt(pending.size())).get("id").asInt();
+					send("POST /api/events/{id}/requests/{aid}/approve", HttpRequest.newBuilder(
+									uri("/api/events/" + eventId + "/requests/" + attendeeId + "/approve"))
+							.header("Authorization", "Bearer " + target.organizerToken())
+							.POST(HttpRequest.BodyPublishers.noBody()));
+				}
+			}
+			case "update" -> {
+				Event event = target.event();
+				Map<String, Object> body = new LinkedHashMap<>();
+				body.put("name", event.getName());
+				body.put("date", event.getDate());
+				body.put("location", "Hall " + random.nextInt(1, 20));
+				body.put("description", event.getDescription());
+				body.put("maxAttendees", event.getMaxAttendees());
+				send("PUT /api/events/{id}", json(HttpRequest.newBuilder(uri("/api/events/" + eventId)), "PUT", body)
+						.header("Authorization", "Bearer " + target.organizerToken()));
+			}
+			default -> throw new IllegalArgumentException("Unknown action in loadtest.mix: " + action);
+		}
+	}
+
+	/** Sends the request, records its latency under the endpoint name and returns the parsed JSON body (or null). */
+	private JsonNode send(String endpoint, HttpRequest.Builder request) {
+		long start = System.nanoTime();
+		int status = 0;
+		try {
+			HttpResponse<byte[]> response = http.send(request.timeout(Duration.ofSeconds(30)).build(),
+					HttpResponse.BodyHandlers.ofByteArray());
+			status = response.statusCode();
+			boolean isJson = response.headers().firstValue("Content-Type").orElse("").contains("json");
+			return status / 100 == 2 && isJson && response.body().length > 0 ? objectMapper.readTree(response.body()) : null;
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return null;
+		} catch (IOException ex) {
+			return null;
+		} finally {
+			report.record(endpoint, System.nanoTime() - start, status);
+		}
+	}
+
+	private HttpRequest.Builder json(HttpRequest.Builder request, String method, Object body) throws IOException {
+		return request.header("Content-Type", "application/json")
+				.method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+	}
+
+	private URI uri(String path) {
+		return URI.create("http://localhost:" + port + path);
+	}
+
+	// ------------------------
+	// Dataset
+	// ------------------------
+
+	private void seed(int organizerCount, int eventCount, int attendeeCount) {
+		String run = Long.toString(System.currentTimeMillis(), 36);
+		List<Organizer> organizers = new ArrayList<>();
+		for (int i = 0; i < organizerCount; i++) {
+			AppUser user = appUserRepository.save(new AppUser(null, "organizer" + i + "-" + run + "@load.test", "n/a", UserRole.ORGANIZER));
+			organizers.add(organizerRepository.save(new Organizer(null, "Organizer " + i, user.getEmail(), null, user)));
+		}
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		long now = System.currentTimeMillis();
+		for (int i = 0; i < eventCount; i++) {
+			Organizer organizer = organizers.get(i % organizers.size());
+			Event event = new Event();
+			event.setName("Load event " + i);
+			event.setDate(new Date(now + TimeUnit.DAYS.toMillis(random.nextInt(1, 365))));
+			event.setLocation("Hall " + random.nextInt(1, 20));
+			event.setDescription("Synthetic event " + i + " for load testing. ".repeat(5));
+			event.setMaxAttendees(random.nextInt(50, 501));
+			event.setOrganizer(organizer);
+			events.add(new SeededEvent(eventRepository.save(event), jwtUtil.generateToken(organizer.getUser(), organizer.getId())));
+		}
+		List<AppUser> users = new ArrayList<>();
+		for (int i = 0; i < attendeeCount; i++) {
+			users.add(new AppUser(null, "attendee" + i + "-" + run + "@load.test", "n/a", UserRole.ATTENDEE));
+		}
+		for (AppUser user : appUserRepository.saveAll(users)) {
+			attenders.add(new Attender(user, jwtUtil.generateToken(user, null)));
+		}
+	}
+
+	private static Map<String, Integer> parseMix(String mix) {
+		Map<String, Integer> weights = new LinkedHashMap<>();
+		for (String part : mix.split(",")) {
+			String[] kv = part.trim().split(":");
+			weights.put(kv[0], Integer.parseInt(kv[1]));
+		}
+		return weights;
+	}
+
+	private static String pick(Map<String, Integer> mix, int totalWeight) {
+		int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+		for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+			roll -= entry.getValue();
+			if (roll < 0) {
+				return entry.getKey();
+			}
+		}
+		throw new IllegalStateException("empty mix");
+	}
+}
@@ -0,0 +1,103 @@
+package com.eventeanagementsystem.event_management_system.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Per-endpoint latency samples and status counts, summarized as p50/p95/p99 and throughput. */
+class LatencyReport {
+
+	private final Map<String, Endpoint> endpoints = new ConcurrentSkipListMap<>();
+
+	private static class Endpoint {
+		private long[] nanos = new long[1024];
+		private int count;
+		final AtomicLong ok = new AtomicLong();
+		final AtomicLong clientErrors = new AtomicLong();
+		final AtomicLong serverErrors = new AtomicLong();
+
+		synchronized void add(long sample) {
+			if (count == nanos.length) {
+				nanos = Arrays.copyOf(nanos, count * 2);
+			}
+			nanos[count++] = sample;
+		}
+
+		synchronized long[] sorted() {
+			long[] copy = Arrays.copyOf(nanos, count);
+			Arrays.sort(copy);
+			return copy;
+		}
+	}
+
+	/** status 0 means the request failed without a response (connection error, timeout). */
+	void record(String endpoint, long nanos, int status) {
+		Endpoint stats = endpoints.computeIfAbsent(endpoint, key -> new Endpoint());
+		stats.add(nanos);
+		if (status >= 200 && status < 400) {
+			stats.ok.incrementAndGet();
+		} else if (status >= 400 && status < 500) {
+			stats.clientErrors.incrementAndGet();
+		} else {
+			stats.serverErrors.incrementAndGet();
+		}
+	}
+
+	long serverErrors() {
+		return endpoints.values().stream().mapToLong(e -> e.serverErrors.get()).sum();
+	}
+
+	List<String> lines(long elapsedNanos) {
+		double seconds = elapsedNanos / 1e9;
+		List<String> lines = new ArrayList<>();
+		lines.add(String.format("%-45s %8s %9s %8s %8s %8s %8s %6s %6s",
+				"endpoint", "requests", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "4xx", "5xx"));
+		endpoints.forEach((name, stats) -> {
+			long[] sorted = stats.sorted();
+			if (sorted.length == 0) {
+				return;
+			}
+			lines.add(String.format("%-45s %8d %9.1f %8.1f %8.1f %8.1f %8.1f %6d %6d",
+					name, sorted.length, sorted.length / seconds,
+					millis(percentile(sorted, 50)), millis(percentile(sorted, 95)), millis(percentile(sorted, 99)),
+					millis(sorted[sorted.length - 1]), stats.clientErrors.get(), stats.serverErrors.get()));
+		});
+		return lines;
+	}
+
+	void write(Path csv, long elapsedNanos) throws IOException {
+		List<String> rows = new ArrayList<>();
+		rows.add("endpoint,requests,throughput_per_s,p50_ms,p95_ms,p99_ms,max_ms,client_errors,server_errors");
+		double seconds = elapsedNanos / 1e9;
+		endpoints.forEach((name, stats) -> {
+			long[] sorted = stats.sorted();
+			if (sorted.length == 0) {
+				return;
+			}
+			rows.add(String.format(Locale.ROOT, "\"%s\",%d,%.2f,%.2f,%.2f,%.2f,%.2f,%d,%d",
+					name, sorted.length, sorted.length / seconds,
+					millis(percentile(sorted, 50)), millis(percentile(sorted, 95)), millis(percentile(sorted, 99)),
+					millis(sorted[sorted.length - 1]), stats.clientErrors.get(), stats.serverErrors.get()));
+		});
+		Files.createDirectories(csv.getParent());
+		Files.write(csv, rows);
+	}
+
+	// nearest-rank percentile
+	private static long percentile(long[] sorted, int p) {
+		int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+		return sorted[Math.max(0, rank - 1)];
+	}
+
+	private static double millis(long nanos) {
+		return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+	}
+}
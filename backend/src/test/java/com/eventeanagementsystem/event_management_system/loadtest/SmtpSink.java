@@ -0,0 +1,87 @@
+package com.eventeanagementsystem.event_management_system.loadtest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Minimal in-process SMTP server that accepts and discards every message (no AUTH, no STARTTLS),
+ * so the notification dispatcher can send at full speed without a real mail host.
+ */
+class SmtpSink implements AutoCloseable {
+
+	private final ServerSocket serverSocket;
+	private final ExecutorService connections = Executors.newVirtualThreadPerTaskExecutor();
+	final AtomicLong messages = new AtomicLong();
+
+	SmtpSink() throws IOException {
+		serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+		Thread acceptor = new Thread(this::acceptLoop, "smtp-sink");
+		acceptor.setDaemon(true);
+		acceptor.start();
+	}
+
+	int port() {
+		return serverSocket.getLocalPort();
+	}
+
+	private void acceptLoop() {
+		while (!serverSocket.isClosed()) {
+			try {
+				Socket socket = serverSocket.accept();
+				connections.submit(() -> session(socket));
+			} catch (IOException ex) {
+				// closed
+			}
+		}
+	}
+
+	private void session(Socket socket) {
+		try (socket;
+			 BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+			 PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.US_ASCII)) {
+			reply(out, "220 smtp-sink ready");
+			String line;
+			while ((line = in.readLine()) != null) {
+				String command = line.toUpperCase(Locale.ROOT);
+				if (command.startsWith("DATA")) {
+					reply(out, "354 end with <CRLF>.<CRLF>");
+					while ((line = in.readLine()) != null && !line.equals(".")) {
+						// discard the message
+					}
+					messages.incrementAndGet();
+					reply(out, "250 queued");
+				} else if (command.startsWith("QUIT")) {
+					reply(out, "221 bye");
+					return;
+				} else if (command.startsWith("EHLO") || command.startsWith("HELO")) {
+					reply(out, "250 smtp-sink");
+				} else {
+					reply(out, "250 OK");
+				}
+			}
+		} catch (IOException ex) {
+			// client went away
+		}
+	}
+
+	private static void reply(PrintWriter out, String line) {
+		out.print(line + "\r\n");
+		out.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		serverSocket.close();
+		connections.shutdownNow();
+	}
+}
@@ -0,0 +1,72 @@
+package com.eventeanagementsystem.event_management_system.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stands in for Ollama's /api/generate: answers after a configurable latency (with +-25% jitter),
+ * failing a configurable fraction of calls with HTTP 500.
+ * The answer is a single NDJSON line with done=true, which both the streaming and the blocking client accept.
+ */
+class StubOllamaServer implements AutoCloseable {
+
+	private static final String ANSWER = "{\"response\":\"Dear {{recipient_name}},\\n\\n"
+			+ "This is a generated notification about your booking. We look forward to seeing you.\\n\\n"
+			+ "Best regards,\\nLoad Test Team\",\"done\":true}\n";
+
+	private final HttpServer server;
+	private final long latencyMs;
+	private final double failureRate;
+	final AtomicLong calls = new AtomicLong();
+	final AtomicLong failures = new AtomicLong();
+
+	StubOllamaServer(long latencyMs, double failureRate) throws IOException {
+		this.latencyMs = latencyMs;
+		this.failureRate = failureRate;
+		this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		this.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+		this.server.createContext("/api/generate", this::generate);
+		this.server.start();
+	}
+
+	String baseUrl() {
+		return "http://localhost:" + server.getAddress().getPort();
+	}
+
+	private void generate(HttpExchange exchange) throws IOException {
+		try (exchange) {
+			exchange.getRequestBody().readAllBytes();
+			calls.incrementAndGet();
+			ThreadLocalRandom random = ThreadLocalRandom.current();
+			if (latencyMs > 0) {
+				Thread.sleep(latencyMs * random.nextLong(75, 126) / 100);
+			}
+			if (random.nextDouble() < failureRate) {
+				failures.incrementAndGet();
+				exchange.sendResponseHeaders(500, -1);
+				return;
+			}
+			byte[] body = ANSWER.getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().set("Content-Type", "application/x-ndjson");
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+	}
+}
@@ -0,0 +1,68 @@
+package com.eventeanagementsystem.event_management_system.notification;
+
+import com.eventeanagementsystem.event_management_system.db.AttendanceStatus;
+import com.eventeanagementsystem.event_management_system.db.Attendee;
+import com.eventeanagementsystem.event_management_system.db.Event;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AiEmailComposerTest {
+
+	private static final String GENERATED = "Dear " + AiEmailComposer.RECIPIENT_PLACEHOLDER + ",\n\nSee you at the drop!";
+
+	private final GenerationScheduler scheduler = mock(GenerationScheduler.class);
+	private Event event;
+	private Attendee attendee;
+
+	@BeforeEach
+	void setUp() {
+		event = new Event();
+		event.setId(1);
+		event.setName("Drop");
+		attendee = new Attendee(1, "Ana", "ana@example.com", event, AttendanceStatus.APPROVED, null);
+	}
+
+	@Test
+	void generatedBodyIsComposedOnceAndPersonalized() {
+		AiEmailComposer composer = composer(60);
+		when(scheduler.generate(anyString(), anyString(), any())).thenReturn(Optional.of(GENERATED));
+
+		assertThat(composer.composeApprovedEmailBody(attendee, event)).startsWith("Dear Ana,").endsWith("Drop Team");
+		Attendee other = new Attendee(2, "Bo", "bo@example.com", event, AttendanceStatus.APPROVED, null);
+		assertThat(composer.composeApprovedEmailBody(other, event)).startsWith("Dear Bo,");
+		verify(scheduler, times(1)).generate(anyString(), anyString(), any());
+	}
+
+	@Test
+	void fallbackBodyIsNotKeptOnceGenerationWorksAgain() {
+		AiEmailComposer composer = composer(0);
+		when(scheduler.generate(anyString(), anyString(), any())).thenReturn(Optional.empty(), Optional.of(GENERATED));
+
+		assertThat(composer.composeApprovedEmailBody(attendee, event)).startsWith("Hi Ana,");
+		assertThat(composer.composeApprovedEmailBody(attendee, event)).startsWith("Dear Ana,");
+	}
+
+	@Test
+	void generatedBodyWithoutMergeFieldFallsBackToTheTemplate() {
+		AiEmailComposer composer = composer(60);
+		when(scheduler.generate(anyString(), anyString(), any())).thenReturn(Optional.of("Dear attendee,\n\nSee you!"));
+
+		assertThat(composer.composeApprovedEmailBody(attendee, event)).startsWith("Hi Ana,");
+		verify(scheduler).discard(anyString(), anyString());
+	}
+
+	private AiEmailComposer composer(long fallbackTtlSeconds) {
+		return new AiEmailComposer(scheduler, new SimpleMeterRegistry(), 100, 60, fallbackTtlSeconds);
+	}
+}
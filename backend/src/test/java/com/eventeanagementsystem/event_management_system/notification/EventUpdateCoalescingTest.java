@@ -0,0 +1,101 @@
+package com.eventeanagementsystem.event_management_system.notification;
+
+import com.eventeanagementsystem.event_management_system.PostgresIntegrationTest;
+import com.eventeanagementsystem.event_management_system.db.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventUpdateCoalescingTest extends PostgresIntegrationTest {
+
+	@Autowired
+	private NotificationService notificationService;
+	@Autowired
+	private EventRepository eventRepository;
+	@Autowired
+	private NotificationOutboxRepository outboxRepository;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private Event event;
+
+	@BeforeEach
+	void setUp() {
+		event = new Event();
+		event.setName("Original");
+		event.setLocation("Hall A");
+		event.setDate(new Date(1_900_000_000_000L));
+		event = eventRepository.save(event);
+	}
+
+	@Test
+	void descriptionOnlyEditQueuesNothing() {
+		event.setDescription("New description");
+		event.setImageUrl("https://example.com/new.png");
+
+		queue("Original", event.getDate(), "Hall A");
+
+		assertThat(updateRows()).isEmpty();
+	}
+
+	@Test
+	void successiveEditsMergeIntoTheWaitingEmail() {
+		event.setName("Renamed");
+		queue("Original", event.getDate(), "Hall A");
+		Instant firstSendAt = updateRows().get(0).getNextAttemptAt();
+
+		event.setLocation("Hall B");
+		queue("Renamed", event.getDate(), "Hall A");
+
+		List<NotificationOutbox> rows = updateRows();
+		assertThat(rows).singleElement().satisfies(row -> {
+			// still describes the change since before the first edit
+			assertThat(row.getPayload()).containsEntry(NotificationService.OLD_NAME, "Original")
+					.containsEntry(NotificationService.OLD_LOCATION, "Hall A");
+			assertThat(row.getNextAttemptAt()).isAfterOrEqualTo(firstSendAt);
+			assertThat(NotificationService.changedSince(row.getPayload(), event)).isTrue();
+		});
+	}
+
+	@Test
+	void aClaimedUpdateIsNotMergedInto() {
+		event.setName("Renamed");
+		queue("Original", event.getDate(), "Hall A");
+		NotificationOutbox claimed = updateRows().get(0);
+		claimed.setStatus(OutboxStatus.IN_PROGRESS);
+		claimed.setAttempts(1);
+		outboxRepository.save(claimed);
+
+		event.setName("Renamed again");
+		queue("Renamed", event.getDate(), "Hall A");
+
+		assertThat(updateRows()).hasSize(2);
+	}
+
+	@Test
+	void revertedEditsAreNoChange() {
+		event.setName("Renamed");
+		queue("Original", event.getDate(), "Hall A");
+
+		event.setName("Original");
+
+		assertThat(NotificationService.changedSince(updateRows().get(0).getPayload(), event)).isFalse();
+	}
+
+	private void queue(String oldName, Date oldDate, String oldLocation) {
+		transactionTemplate.executeWithoutResult(tx -> notificationService.queueEventUpdated(event, oldName, oldDate, oldLocation));
+	}
+
+	private List<NotificationOutbox> updateRows() {
+		return outboxRepository.findAll().stream()
+				.filter(row -> row.getType() == NotificationType.EVENT_UPDATED && event.getId().equals(row.getEventId()))
+				.toList();
+	}
+}
@@ -0,0 +1,144 @@
+package com.eventeanagementsystem.event_management_system.notification;
+
+import com.eventeanagementsystem.event_management_system.PostgresIntegrationTest;
+import com.eventeanagementsystem.event_management_system.db.*;
+import com.eventeanagementsystem.event_management_system.service.EmailService;
+import com.eventeanagementsystem.event_management_system.service.EventService;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mail.MailSendException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EventUpdateFanOutTest extends PostgresIntegrationTest {
+
+	@MockBean
+	private EmailService emailService;
+	@MockBean
+	private AiEmailComposer aiEmailComposer;
+
+	@Autowired
+	private EventUpdateFanOut eventUpdateFanOut;
+	@Autowired
+	private EventService eventService;
+	@Autowired
+	private EventRepository eventRepository;
+	@Autowired
+	private AttendeeRepository attendeeRepository;
+	@Autowired
+	private AppUserRepository appUserRepository;
+	@Autowired
+	private NotificationOutboxRepository outboxRepository;
+
+	private Event event;
+	private AppUser user;
+	private Attendee failing;
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(eventUpdateFanOut, "chunkSize", 2);
+		when(aiEmailComposer.composeEventUpdatedEmailBody(anyString(), any(Event.class), any(), any(), any())).thenReturn("body");
+
+		event = new Event();
+		event.setName("Fan-out");
+		event = eventRepository.save(event);
+		user = appUserRepository.save(new AppUser(null, "account-" + System.nanoTime() + "@example.com", "n/a", UserRole.ATTENDEE));
+		attend("Approved", "approved@example.com", AttendanceStatus.APPROVED, null);
+		attend("Account", "typed@example.com", AttendanceStatus.APPROVED, user);
+		attend("Pending", "pending@example.com", AttendanceStatus.PENDING, null);
+		failing = attend("Failing", "fails@example.com", AttendanceStatus.PENDING, null);
+		attend("Banned", "banned@example.com", AttendanceStatus.BANNED, null);
+		attend("Rejected", "rejected@example.com", AttendanceStatus.REJECTED, null);
+		doThrow(new MailSendException("mailbox unavailable")).when(emailService).sendEmail(eq("fails@example.com"), anyString(), anyString());
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void sendsToApprovedAndPendingInChunksAndQueuesFailures() throws Exception {
+		NotificationOutbox row = outboxRepository.save(claimed(NotificationOutbox.pending(
+				NotificationType.EVENT_UPDATED, null, event.getId(), Map.of(NotificationService.OLD_NAME, "Before"))));
+
+		assertThat(eventUpdateFanOut.send(row, event)).isEqualTo(4);
+
+		ArgumentCaptor<String> to = ArgumentCaptor.forClass(String.class);
+		verify(emailService, atLeastOnce()).sendEmail(to.capture(), anyString(), anyString());
+		assertThat(to.getAllValues()).containsExactlyInAnyOrder(
+				"approved@example.com", user.getEmail(), "pending@example.com", "fails@example.com");
+		assertThat(outboxRepository.findAll())
+				.filteredOn(r -> failing.getId().equals(r.getAttendeeId()))
+				.singleElement()
+				.satisfies(retry -> {
+					assertThat(retry.getType()).isEqualTo(NotificationType.EVENT_UPDATED);
+					assertThat(retry.getPayload()).containsEntry(NotificationService.OLD_NAME, "Before")
+							.doesNotContainKey(EventUpdateFanOut.AFTER_ATTENDEE_ID);
+				});
+
+		// a retried or reclaimed row resumes after the last finished chunk
+		NotificationOutbox saved = outboxRepository.findById(row.getId()).orElseThrow();
+		assertThat(saved.getPayload()).containsEntry(EventUpdateFanOut.AFTER_ATTENDEE_ID, failing.getId().toString());
+		assertThat(eventUpdateFanOut.send(saved, event)).isZero();
+	}
+
+	@Test
+	void stopsWhenTheRowWasClaimedByAnotherWorker() {
+		NotificationOutbox row = outboxRepository.save(claimed(NotificationOutbox.pending(
+				NotificationType.EVENT_UPDATED, null, event.getId(), Map.of(NotificationService.OLD_NAME, "Before"))));
+		// what a second worker's claim does once the lease has run out
+		NotificationOutbox reclaimed = outboxRepository.findById(row.getId()).orElseThrow();
+		reclaimed.setAttempts(reclaimed.getAttempts() + 1);
+		outboxRepository.save(reclaimed);
+
+		assertThatThrownBy(() -> eventUpdateFanOut.send(row, event)).isInstanceOf(IllegalStateException.class);
+		assertThat(outboxRepository.findById(row.getId()).orElseThrow().getPayload())
+				.doesNotContainKey(EventUpdateFanOut.AFTER_ATTENDEE_ID);
+	}
+
+	@Test
+	void updateDoesNotLoadTheAttendeeList() {
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+				"admin@example.com", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+		Event edit = new Event();
+		edit.setName("Renamed");
+		edit.setLocation("Hall A");
+
+		Event saved = eventService.updateEvent(event.getId(), edit);
+
+		assertThat(saved.getName()).isEqualTo("Renamed");
+		assertThat(Hibernate.isInitialized(saved.getAttendees())).isFalse();
+	}
+
+	// as the dispatcher leaves a row it is working on
+	private static NotificationOutbox claimed(NotificationOutbox row) {
+		row.setStatus(OutboxStatus.IN_PROGRESS);
+		row.setAttempts(1);
+		return row;
+	}
+
+	private Attendee attend(String name, String email, AttendanceStatus status, AppUser user) {
+		return attendeeRepository.save(new Attendee(null, name, email, event, status, user));
+	}
+}
@@ -0,0 +1,91 @@
+package com.eventeanagementsystem.event_management_system.notification;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeneratedTextStoreTest {
+
+	@TempDir
+	private Path directory;
+
+	@Test
+	void textsSurviveARestart() {
+		GeneratedTextStore store = open(1_000, "gemma3:1b");
+		store.put("prompt", "Team", "Dear guest, ... Team");
+
+		GeneratedTextStore restarted = open(1_000, "gemma3:1b");
+		assertThat(restarted.get("prompt", "Team")).contains("Dear guest, ... Team");
+		assertThat(restarted.bytes()).isEqualTo("Dear guest, ... Team".length());
+	}
+
+	@Test
+	void keyCoversModelPromptAndStopSequence() {
+		GeneratedTextStore store = open(1_000, "gemma3:1b");
+		store.put("prompt", "Team", "text");
+
+		assertThat(store.get("prompt", "Other Team")).isEmpty();
+		assertThat(store.get("other prompt", "Team")).isEmpty();
+		assertThat(open(1_000, "llama3.1").get("prompt", "Team")).isEmpty();
+	}
+
+	@Test
+	void leastRecentlyUsedTextsAreEvictedOverTheLimit() {
+		GeneratedTextStore store = open(25, "gemma3:1b");
+		store.put("a", null, "0123456789");
+		store.put("b", null, "0123456789");
+		store.get("a", null);
+		store.put("c", null, "0123456789");
+
+		assertThat(store.get("b", null)).isEmpty();
+		assertThat(store.get("a", null)).isPresent();
+		assertThat(store.get("c", null)).isPresent();
+		assertThat(store.bytes()).isEqualTo(20);
+	}
+
+	@Test
+	void textsWrittenByAnotherInstanceAreFound() {
+		GeneratedTextStore first = open(1_000, "gemma3:1b");
+		GeneratedTextStore second = open(1_000, "gemma3:1b");
+		second.put("prompt", "Team", "shared");
+
+		assertThat(first.get("prompt", "Team")).contains("shared");
+		assertThat(first.bytes()).isEqualTo(6);
+	}
+
+	@Test
+	void sizeLimitCoversTextsOfAllInstances() throws Exception {
+		GeneratedTextStore first = open(25, "gemma3:1b");
+		GeneratedTextStore second = open(25, "gemma3:1b");
+		first.put("a", null, "0123456789");
+		Thread.sleep(20);
+		second.put("b", null, "0123456789");
+		Thread.sleep(20);
+		second.put("c", null, "0123456789");
+
+		first.rescan();
+
+		assertThat(first.bytes()).isEqualTo(20);
+		assertThat(second.get("a", null)).isEmpty();
+		assertThat(second.get("b", null)).isPresent();
+	}
+
+	@Test
+	void withoutDirectoryNothingIsKept() {
+		GeneratedTextStore store = new GeneratedTextStore(new SimpleMeterRegistry(), true, "", 1_000, 60_000, "gemma3:1b");
+		store.start();
+		store.put("prompt", "Team", "text");
+
+		assertThat(store.get("prompt", "Team")).isEmpty();
+	}
+
+	private GeneratedTextStore open(long maxBytes, String model) {
+		GeneratedTextStore store = new GeneratedTextStore(new SimpleMeterRegistry(), true, directory.toString(), maxBytes, 60_000, model);
+		store.rescan();
+		return store;
+	}
+}
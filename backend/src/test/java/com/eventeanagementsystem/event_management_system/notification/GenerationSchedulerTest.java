@@ -0,0 +1,129 @@
+package com.eventeanagementsystem.event_management_system.notification;
+
+import com.eventeanagementsystem.event_management_system.notification.GenerationScheduler.Priority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GenerationSchedulerTest {
+
+	private final OllamaClient ollamaClient = mock(OllamaClient.class);
+	private final GeneratedTextStore store = mock(GeneratedTextStore.class);
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final List<String> generated = new CopyOnWriteArrayList<>();
+	private final CountDownLatch started = new CountDownLatch(1);
+	private final CountDownLatch release = new CountDownLatch(1);
+	private final ExecutorService callers = Executors.newCachedThreadPool();
+	private GenerationScheduler scheduler;
+
+	@AfterEach
+	void tearDown() {
+		release.countDown();
+		callers.shutdownNow();
+		scheduler.stop();
+	}
+
+	@Test
+	void interactivePromptsGoFirst() throws Exception {
+		start(1, 10);
+		Future<Optional<String>> first = submit("first", Priority.BULK);
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+		Future<Optional<String>> a = submit("A", Priority.BULK);
+		awaitQueued(1);
+		Future<Optional<String>> b = submit("B", Priority.BULK);
+		awaitQueued(2);
+		Future<Optional<String>> c = submit("C", Priority.INTERACTIVE);
+		awaitQueued(3);
+		release.countDown();
+
+		for (Future<Optional<String>> result : List.of(first, a, b, c)) {
+			assertThat(result.get(5, TimeUnit.SECONDS)).isPresent();
+		}
+		assertThat(generated).containsExactly("first", "C", "A", "B");
+	}
+
+	@Test
+	void identicalPromptsAreGeneratedOnce() throws Exception {
+		start(1, 10);
+		Future<Optional<String>> first = submit("first", Priority.BULK);
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+		Future<Optional<String>> bulk = submit("same", Priority.BULK);
+		awaitQueued(1);
+		Future<Optional<String>> interactive = submit("same", Priority.INTERACTIVE);
+		while (meterRegistry.counter("ollama.generate.deduplicated").count() < 1) {
+			Thread.sleep(10);
+		}
+		release.countDown();
+
+		assertThat(first.get(5, TimeUnit.SECONDS)).contains("text for first");
+		assertThat(bulk.get(5, TimeUnit.SECONDS)).contains("text for same");
+		assertThat(interactive.get(5, TimeUnit.SECONDS)).contains("text for same");
+		assertThat(generated).containsExactly("first", "same");
+	}
+
+	@Test
+	void fullQueueFallsBackImmediately() throws Exception {
+		start(1, 1);
+		submit("first", Priority.INTERACTIVE);
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+		submit("queued", Priority.INTERACTIVE);
+		awaitQueued(1);
+
+		assertThat(scheduler.generate("rejected", "Team", Priority.INTERACTIVE)).isEmpty();
+		assertThat(meterRegistry.get("ollama.queue.wait").tag("outcome", "rejected").timer().count()).isEqualTo(1);
+	}
+
+	@Test
+	void storedTextsSkipTheQueueAndNewOnesAreStored() {
+		start(1, 10);
+		when(store.get("known", "Team")).thenReturn(Optional.of("stored text"));
+
+		assertThat(scheduler.generate("known", "Team", Priority.BULK)).contains("stored text");
+		assertThat(scheduler.generate("new", "Team", Priority.BULK)).contains("text for new");
+		assertThat(generated).containsExactly("new");
+		verify(store).put("new", "Team", "text for new");
+	}
+
+	private void start(int concurrency, int maxQueue) {
+		when(ollamaClient.generate(anyString(), anyString())).thenAnswer(invocation -> {
+			String prompt = invocation.getArgument(0);
+			generated.add(prompt);
+			if (prompt.equals("first")) {
+				started.countDown();
+				release.await();
+			}
+			return Optional.of("text for " + prompt);
+		});
+		scheduler = new GenerationScheduler(ollamaClient, store, meterRegistry, concurrency, maxQueue, 10_000);
+		scheduler.start();
+	}
+
+	private Future<Optional<String>> submit(String prompt, Priority priority) {
+		return callers.submit(() -> scheduler.generate(prompt, "Team", priority));
+	}
+
+	private void awaitQueued(int count) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (scheduler.queued() < count && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		assertThat(scheduler.queued()).isEqualTo(count);
+	}
+}
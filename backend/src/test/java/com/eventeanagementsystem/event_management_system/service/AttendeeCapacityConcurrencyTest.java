@@ -0,0 +1,114 @@
+package com.eventeanagementsystem.event_management_system.service;
+
+import com.eventeanagementsystem.event_management_system.PostgresIntegrationTest;
+import com.eventeanagementsystem.event_management_system.db.AttendanceStatus;
+import com.eventeanagementsystem.event_management_system.db.Attendee;
+import com.eventeanagementsystem.event_management_system.db.AttendeeRepository;
+import com.eventeanagementsystem.event_management_system.db.Event;
+import com.eventeanagementsystem.event_management_system.db.EventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AttendeeCapacityConcurrencyTest extends PostgresIntegrationTest {
+
+	@Autowired
+	private AttendeeService attendeeService;
+	@Autowired
+	private EventRepository eventRepository;
+	@Autowired
+	private AttendeeRepository attendeeRepository;
+
+	@Test
+	void concurrentApprovalsNeverOversell() throws Exception {
+		int seats = 10;
+		int requests = 64;
+		Event event = newEvent(seats);
+		List<Integer> pendingIds = newPendingAttendees(event, requests);
+
+		ExecutorService pool = Executors.newFixedThreadPool(16);
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicInteger approved = new AtomicInteger();
+		AtomicInteger full = new AtomicInteger();
+		List<Future<?>> results = new ArrayList<>();
+		for (Integer id : pendingIds) {
+			results.add(pool.submit(() -> {
+				start.await();
+				try {
+					attendeeService.approveAttendance(id);
+					approved.incrementAndGet();
+				} catch (IllegalStateException ex) {
+					full.incrementAndGet();
+				}
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> result : results) {
+			result.get(60, TimeUnit.SECONDS);
+		}
+		pool.shutdown();
+
+		assertThat(approved.get()).isEqualTo(seats);
+		assertThat(full.get()).isEqualTo(requests - seats);
+		assertThat(attendeeRepository.findByEventIdAndStatus(event.getId(), AttendanceStatus.APPROVED)).hasSize(seats);
+		assertThat(eventRepository.findById(event.getId()).orElseThrow().getApprovedCount()).isEqualTo(seats);
+	}
+
+	@Test
+	void rejectingAnApprovedAttendeeFreesTheSeat() {
+		Event event = newEvent(1);
+		List<Integer> ids = newPendingAttendees(event, 2);
+
+		attendeeService.approveAttendance(ids.get(0));
+		assertThatThrownBy(() -> attendeeService.approveAttendance(ids.get(1)))
+				.isInstanceOf(IllegalStateException.class);
+
+		attendeeService.rejectAttendance(ids.get(0));
+		attendeeService.approveAttendance(ids.get(1));
+
+		assertThat(eventRepository.findById(event.getId()).orElseThrow().getApprovedCount()).isEqualTo(1);
+	}
+
+	@Test
+	void approvingTwiceTakesOneSeat() {
+		Event event = newEvent(5);
+		Integer id = newPendingAttendees(event, 1).get(0);
+
+		attendeeService.approveAttendance(id);
+		attendeeService.approveAttendance(id);
+
+		assertThat(eventRepository.findById(event.getId()).orElseThrow().getApprovedCount()).isEqualTo(1);
+	}
+
+	private Event newEvent(int maxAttendees) {
+		Event event = new Event();
+		event.setName("Capacity test");
+		event.setMaxAttendees(maxAttendees);
+		return eventRepository.save(event);
+	}
+
+	private List<Integer> newPendingAttendees(Event event, int count) {
+		List<Integer> ids = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			Attendee attendee = new Attendee();
+			attendee.setName("Attendee " + i);
+			attendee.setEmail("attendee" + i + "@example.com");
+			attendee.setEvent(event);
+			attendee.setStatus(AttendanceStatus.PENDING);
+			ids.add(attendeeRepository.save(attendee).getId());
+		}
+		return ids;
+	}
+}
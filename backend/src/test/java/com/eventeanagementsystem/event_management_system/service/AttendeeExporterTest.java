@@ -0,0 +1,80 @@
+package com.eventeanagementsystem.event_management_system.service;
+
+import com.eventeanagementsystem.event_management_system.PostgresIntegrationTest;
+import com.eventeanagementsystem.event_management_system.db.*;
+import com.eventeanagementsystem.event_management_system.exception.BadRequestException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AttendeeExporterTest extends PostgresIntegrationTest {
+
+	@Autowired
+	private AttendeeExporter attendeeExporter;
+	@Autowired
+	private EventRepository eventRepository;
+	@Autowired
+	private AttendeeRepository attendeeRepository;
+	@Autowired
+	private AppUserRepository appUserRepository;
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private Event event;
+	private AppUser user;
+
+	@BeforeEach
+	void setUp() {
+		event = new Event();
+		event.setName("Export");
+		event = eventRepository.save(event);
+		user = appUserRepository.save(new AppUser(null, "export-" + System.nanoTime() + "@example.com", "n/a", UserRole.ATTENDEE));
+		attendeeRepository.save(new Attendee(null, "Plain", "plain@example.com", event, AttendanceStatus.APPROVED, user));
+		attendeeRepository.save(new Attendee(null, "Doe, \"JD\" Jane", "jane@example.com", event, AttendanceStatus.PENDING, null));
+		attendeeRepository.save(new Attendee(null, "Rejected", "rejected@example.com", event, AttendanceStatus.REJECTED, null));
+	}
+
+	@Test
+	void ndjsonHasOneObjectPerAttendee() throws Exception {
+		List<String> lines = export(null, AttendeeExporter.Format.NDJSON).lines().toList();
+
+		assertThat(lines).hasSize(3);
+		JsonNode first = objectMapper.readTree(lines.get(0));
+		assertThat(first.get("name").asText()).isEqualTo("Plain");
+		assertThat(first.get("status").asText()).isEqualTo("APPROVED");
+		assertThat(first.get("userId").asInt()).isEqualTo(user.getId());
+		assertThat(first.get("userEmail").asText()).isEqualTo(user.getEmail());
+	}
+
+	@Test
+	void csvQuotesFieldsAndFiltersByStatus() throws Exception {
+		List<String> lines = export(AttendanceStatus.PENDING, AttendeeExporter.Format.CSV).lines().toList();
+
+		assertThat(lines).hasSize(2);
+		assertThat(lines.get(0)).isEqualTo("id,name,email,status,userId,userEmail");
+		assertThat(lines.get(1)).endsWith(",\"Doe, \"\"JD\"\" Jane\",jane@example.com,PENDING,,");
+	}
+
+	@Test
+	void unknownFormatIsRefused() {
+		assertThat(AttendeeExporter.Format.parse(null)).isEqualTo(AttendeeExporter.Format.NDJSON);
+		assertThat(AttendeeExporter.Format.parse("CSV")).isEqualTo(AttendeeExporter.Format.CSV);
+		assertThatThrownBy(() -> AttendeeExporter.Format.parse("xlsx"))
+				.isInstanceOf(BadRequestException.class);
+	}
+
+	private String export(AttendanceStatus status, AttendeeExporter.Format format) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		attendeeExporter.export(event.getId(), status, format, out);
+		return out.toString(StandardCharsets.UTF_8);
+	}
+}
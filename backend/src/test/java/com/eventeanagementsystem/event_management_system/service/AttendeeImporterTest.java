@@ -0,0 +1,105 @@
+package com.eventeanagementsystem.event_management_system.service;
+
+import com.eventeanagementsystem.event_management_system.PostgresIntegrationTest;
+import com.eventeanagementsystem.event_management_system.db.*;
+import com.eventeanagementsystem.event_management_system.dto.AttendeeImportReport;
+import com.eventeanagementsystem.event_management_system.exception.BadRequestException;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AttendeeImporterTest extends PostgresIntegrationTest {
+
+	@Autowired
+	private AttendeeImporter attendeeImporter;
+	@Autowired
+	private EventRepository eventRepository;
+	@Autowired
+	private AttendeeRepository attendeeRepository;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Event event;
+
+	@BeforeEach
+	void setUp() {
+		event = new Event();
+		event.setName("Import");
+		event = eventRepository.save(event);
+	}
+
+	@Test
+	void validatesAndDeduplicatesRows() throws Exception {
+		attendeeRepository.save(new Attendee(null, "Listed", "listed@example.com", event, AttendanceStatus.PENDING, null));
+		attendeeRepository.save(new Attendee(null, "Banned", "banned@example.com", event, AttendanceStatus.BANNED, null));
+		String csv = "email,company,name\r\n"
+				+ "ann@example.com,ACME,Ann\r\n"
+				+ "\"bob@example.com\",\"Bob, Inc\",\"Bob \"\"B\"\" Smith\"\r\n"
+				+ "ANN@example.com,,Ann again\r\n"
+				+ "Listed@Example.com,,Listed\r\n"
+				+ "banned@example.com,,Banned\r\n"
+				+ "not-an-email,,Nobody\r\n"
+				+ "carol@example.com,,\r\n";
+
+		AttendeeImportReport report = importCsv(csv, AttendanceStatus.PENDING);
+
+		assertThat(report.getRows()).isEqualTo(7);
+		assertThat(report.getImported()).isEqualTo(2);
+		assertThat(report.getDuplicates()).isEqualTo(2);
+		assertThat(report.getRejected()).isEqualTo(3);
+		assertThat(report.getErrors()).extracting(AttendeeImportReport.RowError::getLine).containsExactly(4L, 5L, 6L, 7L, 8L);
+		assertThat(attendeeRepository.findByEventIdAndStatus(event.getId(), AttendanceStatus.PENDING))
+				.extracting(Attendee::getName)
+				.containsExactlyInAnyOrder("Listed", "Ann", "Bob \"B\" Smith");
+	}
+
+	@Test
+	void approvedImportStopsAtCapacity() throws Exception {
+		event.setMaxAttendees(3);
+		event = eventRepository.save(event);
+		String csv = "name,email\n" + "A,a@example.com\n" + "B,b@example.com\n" + "C,c@example.com\n" + "D,d@example.com\n";
+
+		AttendeeImportReport report = importCsv(csv, AttendanceStatus.APPROVED);
+
+		assertThat(report.getImported()).isEqualTo(3);
+		assertThat(report.getRejected()).isEqualTo(1);
+		assertThat(report.getErrors().get(0).getMessage()).isEqualTo("Event is full");
+		assertThat(eventRepository.findById(event.getId()).orElseThrow().getApprovedCount()).isEqualTo(3);
+	}
+
+	@Test
+	void insertsAreBatched() throws Exception {
+		int rows = 2_500;
+		StringBuilder csv = new StringBuilder("name,email\n");
+		for (int i = 0; i < rows; i++) {
+			csv.append("Guest ").append(i).append(",guest").append(i).append("@example.com\n");
+		}
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		long statements = statistics.getPrepareStatementCount();
+
+		AttendeeImportReport report = importCsv(csv.toString(), AttendanceStatus.PENDING);
+
+		assertThat(report.getImported()).isEqualTo(rows);
+		// one INSERT batch and one sequence call per 50 rows, not a round trip per row
+		assertThat(statistics.getPrepareStatementCount() - statements).isLessThan(rows / 10);
+		assertThat(attendeeRepository.findByEventId(event.getId())).hasSize(rows);
+	}
+
+	@Test
+	void headerMustNameTheColumns() {
+		assertThatThrownBy(() -> importCsv("first,last\nAnn,Lee\n", AttendanceStatus.PENDING))
+				.isInstanceOf(BadRequestException.class);
+	}
+
+	private AttendeeImportReport importCsv(String csv, AttendanceStatus status) throws Exception {
+		return attendeeImporter.importCsv(event.getId(), status, new StringReader(csv));
+	}
+}
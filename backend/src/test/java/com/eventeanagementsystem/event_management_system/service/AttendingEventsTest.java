@@ -0,0 +1,121 @@
+package com.eventeanagementsystem.event_management_system.service;
+
+import com.eventeanagementsystem.event_management_system.PostgresIntegrationTest;
+import com.eventeanagementsystem.event_management_system.db.*;
+import com.eventeanagementsystem.event_management_system.dto.EventSummaryDto;
+import com.eventeanagementsystem.event_management_system.exception.BadRequestException;
+import com.eventeanagementsystem.event_management_system.security.AuthenticatedUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AttendingEventsTest extends PostgresIntegrationTest {
+
+	private static final long DAY = 86_400_000L;
+
+	@Autowired
+	private AttendeeService attendeeService;
+	@Autowired
+	private EventRepository eventRepository;
+	@Autowired
+	private AttendeeRepository attendeeRepository;
+	@Autowired
+	private AppUserRepository appUserRepository;
+
+	private AppUser user;
+	private Event lastWeek;
+	private Event yesterday;
+	private Event tomorrow;
+	private Event nextWeek;
+	private Event undated;
+
+	@BeforeEach
+	void setUp() {
+		user = appUserRepository.save(new AppUser(null, "attending-" + System.nanoTime() + "@example.com", "n/a", UserRole.ATTENDEE));
+		long now = System.currentTimeMillis();
+		lastWeek = attend(event(new Date(now - 7 * DAY)), AttendanceStatus.APPROVED);
+		yesterday = attend(event(new Date(now - DAY)), AttendanceStatus.APPROVED);
+		nextWeek = attend(event(new Date(now + 7 * DAY)), AttendanceStatus.APPROVED);
+		tomorrow = attend(event(new Date(now + DAY)), AttendanceStatus.APPROVED);
+		undated = attend(event(null), AttendanceStatus.APPROVED);
+		// not attending: pending, rejected and banned requests
+		attend(event(new Date(now + 2 * DAY)), AttendanceStatus.PENDING);
+		attend(event(new Date(now + 3 * DAY)), AttendanceStatus.REJECTED);
+		attend(event(new Date(now + 4 * DAY)), AttendanceStatus.BANNED);
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+				new AuthenticatedUser(user.getEmail(), user.getId(), null), null,
+				List.of(new SimpleGrantedAuthority("ROLE_ATTENDEE"))));
+	}
+
+	@AfterEach
+	void clearContext() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void allApprovedEventsByDateWithUndatedLast() {
+		assertThat(ids(attendeeService.getMyAttendingEvents(null, null, null)))
+				.containsExactly(lastWeek.getId(), yesterday.getId(), tomorrow.getId(), nextWeek.getId(), undated.getId());
+	}
+
+	@Test
+	void upcomingSoonestFirst() {
+		assertThat(ids(attendeeService.getMyAttendingEvents("upcoming", null, null)))
+				.containsExactly(tomorrow.getId(), nextWeek.getId(), undated.getId());
+	}
+
+	@Test
+	void pastMostRecentFirst() {
+		assertThat(ids(attendeeService.getMyAttendingEvents("past", null, null)))
+				.containsExactly(yesterday.getId(), lastWeek.getId());
+	}
+
+	@Test
+	void pagesWhenSizeIsGiven() {
+		assertThat(ids(attendeeService.getMyAttendingEvents("upcoming", 0, 2)))
+				.containsExactly(tomorrow.getId(), nextWeek.getId());
+		assertThat(ids(attendeeService.getMyAttendingEvents("upcoming", 1, 2)))
+				.containsExactly(undated.getId());
+	}
+
+	@Test
+	void rowsAreCatalogSummaries() {
+		EventSummaryDto row = attendeeService.getMyAttendingEvents("past", 0, 1).get(0);
+
+		assertThat(row.getName()).isEqualTo(yesterday.getName());
+		assertThat(row.getOrganizerId()).isNull();
+		assertThat(row.getDescription()).isNull();
+	}
+
+	@Test
+	void unknownFilterIsRefused() {
+		assertThatThrownBy(() -> attendeeService.getMyAttendingEvents("soon", null, null))
+				.isInstanceOf(BadRequestException.class);
+	}
+
+	private Event event(Date date) {
+		Event event = new Event();
+		event.setName("Attending " + date);
+		event.setDate(date);
+		return eventRepository.save(event);
+	}
+
+	private Event attend(Event event, AttendanceStatus status) {
+		attendeeRepository.save(new Attendee(null, "Me", user.getEmail(), event, status, user));
+		return event;
+	}
+
+	private static List<Integer> ids(List<EventSummaryDto> rows) {
+		return rows.stream().map(EventSummaryDto::getId).toList();
+	}
+}
@@ -0,0 +1,96 @@
+package com.eventeanagementsystem.event_management_system.service;
+
+import com.eventeanagementsystem.event_management_system.PostgresIntegrationTest;
+import com.eventeanagementsystem.event_management_system.db.*;
+import com.eventeanagementsystem.event_management_system.security.AuthenticatedUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BookingRequestTest extends PostgresIntegrationTest {
+
+	@Autowired
+	private AttendeeService attendeeService;
+	@Autowired
+	private EventRepository eventRepository;
+	@Autowired
+	private AttendeeRepository attendeeRepository;
+	@Autowired
+	private AppUserRepository appUserRepository;
+
+	private AppUser user;
+	private Event event;
+
+	@BeforeEach
+	void setUp() {
+		user = appUserRepository.save(new AppUser(null, "booker-" + System.nanoTime() + "@example.com", "n/a", UserRole.ATTENDEE));
+		Event newEvent = new Event();
+		newEvent.setName("Booking test");
+		event = eventRepository.save(newEvent);
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+				new AuthenticatedUser(user.getEmail(), user.getId(), null), null,
+				List.of(new SimpleGrantedAuthority("ROLE_ATTENDEE"))));
+	}
+
+	@AfterEach
+	void clearContext() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void secondActiveRequestIsRefused() {
+		attendeeService.requestToAttendEvent(event.getId(), body());
+
+		assertThatThrownBy(() -> attendeeService.requestToAttendEvent(event.getId(), body()))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("already requested");
+	}
+
+	@Test
+	void rejectedUserMayRequestAgainButBannedUserMayNot() {
+		Attendee first = attendeeService.requestToAttendEvent(event.getId(), body());
+		attendeeService.rejectAttendance(first.getId());
+		Attendee second = attendeeService.requestToAttendEvent(event.getId(), body());
+
+		attendeeService.banAttendeeFromEvent(second.getId());
+
+		assertThatThrownBy(() -> attendeeService.requestToAttendEvent(event.getId(), body()))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("banned");
+	}
+
+	@Test
+	void databaseRejectsDuplicateActiveRequests() {
+		attendeeRepository.save(pendingRow());
+
+		assertThatThrownBy(() -> attendeeRepository.saveAndFlush(pendingRow()))
+				.isInstanceOf(DataIntegrityViolationException.class);
+		assertThat(attendeeRepository.findBlockingStatuses(user.getId(), event.getId()))
+				.containsExactly(AttendanceStatus.PENDING);
+	}
+
+	private Attendee body() {
+		Attendee attendee = new Attendee();
+		attendee.setName("Booker");
+		attendee.setEmail(user.getEmail());
+		return attendee;
+	}
+
+	private Attendee pendingRow() {
+		Attendee attendee = body();
+		attendee.setEvent(event);
+		attendee.setUser(user);
+		attendee.setStatus(AttendanceStatus.PENDING);
+		return attendee;
+	}
+}
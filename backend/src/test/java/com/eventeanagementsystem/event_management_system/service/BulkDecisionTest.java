@@ -0,0 +1,96 @@
+package com.eventeanagementsystem.event_management_system.service;
+
+import com.eventeanagementsystem.event_management_system.PostgresIntegrationTest;
+import com.eventeanagementsystem.event_management_system.db.*;
+import com.eventeanagementsystem.event_management_system.dto.BulkDecisionRequest;
+import com.eventeanagementsystem.event_management_system.dto.BulkDecisionResult;
+import com.eventeanagementsystem.event_management_system.dto.BulkDecisionResult.Outcome;
+import com.eventeanagementsystem.event_management_system.exception.BadRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BulkDecisionTest extends PostgresIntegrationTest {
+
+	@Autowired
+	private AttendeeService attendeeService;
+	@Autowired
+	private EventRepository eventRepository;
+	@Autowired
+	private AttendeeRepository attendeeRepository;
+	@Autowired
+	private NotificationOutboxRepository outboxRepository;
+
+	private Event event;
+	private final List<Integer> pending = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		event = new Event();
+		event.setName("Bulk");
+		event.setMaxAttendees(3);
+		event = eventRepository.save(event);
+		for (int i = 0; i < 5; i++) {
+			pending.add(attendeeRepository.save(
+					new Attendee(null, "Guest " + i, "guest" + i + "@example.com", event, AttendanceStatus.PENDING, null)).getId());
+		}
+	}
+
+	@Test
+	void approvesTheOldestRequestsUpToCapacity() {
+		BulkDecisionResult result = attendeeService.decideRequests(event.getId(), AttendanceStatus.APPROVED,
+				new BulkDecisionRequest(null, 5));
+
+		assertThat(result.getResults()).extracting(BulkDecisionResult.Item::getOutcome).containsExactly(
+				Outcome.APPROVED, Outcome.APPROVED, Outcome.APPROVED, Outcome.EVENT_FULL, Outcome.EVENT_FULL);
+		assertThat(result.getDecided()).isEqualTo(3);
+		assertThat(eventRepository.findById(event.getId()).orElseThrow().getApprovedCount()).isEqualTo(3);
+		assertThat(attendeeRepository.findByEventIdAndStatus(event.getId(), AttendanceStatus.APPROVED))
+				.extracting(Attendee::getId).containsExactlyInAnyOrderElementsOf(pending.subList(0, 3));
+		assertThat(queued(NotificationType.BOOKING_APPROVED)).containsExactlyInAnyOrderElementsOf(pending.subList(0, 3));
+	}
+
+	@Test
+	void reportsEachIdAndSkipsWhatIsNotPending() {
+		attendeeService.approveAttendance(pending.get(0));
+		Event other = new Event();
+		other.setName("Other");
+		other = eventRepository.save(other);
+		Integer foreign = attendeeRepository.save(
+				new Attendee(null, "Elsewhere", "elsewhere@example.com", other, AttendanceStatus.PENDING, null)).getId();
+
+		BulkDecisionResult result = attendeeService.decideRequests(event.getId(), AttendanceStatus.REJECTED,
+				new BulkDecisionRequest(List.of(pending.get(2), pending.get(0), foreign, pending.get(1)), null));
+
+		assertThat(result.getResults()).extracting(BulkDecisionResult.Item::getAttendeeId)
+				.containsExactly(pending.get(2), pending.get(0), foreign, pending.get(1));
+		assertThat(result.getResults()).extracting(BulkDecisionResult.Item::getOutcome).containsExactly(
+				Outcome.REJECTED, Outcome.NOT_PENDING, Outcome.NOT_FOUND, Outcome.REJECTED);
+		assertThat(attendeeRepository.findById(foreign).orElseThrow().getStatus()).isEqualTo(AttendanceStatus.PENDING);
+		assertThat(attendeeRepository.findById(pending.get(0)).orElseThrow().getStatus()).isEqualTo(AttendanceStatus.APPROVED);
+		assertThat(queued(NotificationType.BOOKING_REJECTED)).containsExactlyInAnyOrder(pending.get(1), pending.get(2));
+	}
+
+	@Test
+	void selectionIsEitherIdsOrFirstPending() {
+		assertThatThrownBy(() -> attendeeService.decideRequests(event.getId(), AttendanceStatus.APPROVED,
+				new BulkDecisionRequest(List.of(pending.get(0)), 1)))
+				.isInstanceOf(BadRequestException.class);
+		assertThatThrownBy(() -> attendeeService.decideRequests(event.getId(), AttendanceStatus.BANNED,
+				new BulkDecisionRequest(List.of(pending.get(0)), null)))
+				.isInstanceOf(BadRequestException.class);
+	}
+
+	private List<Integer> queued(NotificationType type) {
+		return outboxRepository.findAll().stream()
+				.filter(row -> row.getType() == type && event.getId().equals(row.getEventId()))
+				.map(NotificationOutbox::getAttendeeId)
+				.toList();
+	}
+}
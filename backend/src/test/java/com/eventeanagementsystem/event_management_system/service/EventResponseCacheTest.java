@@ -0,0 +1,137 @@
+package com.eventeanagementsystem.event_management_system.service;
+
+import com.eventeanagementsystem.event_management_system.db.Event;
+import com.eventeanagementsystem.event_management_system.dto.EventCatalogPage;
+import com.eventeanagementsystem.event_management_system.dto.EventSummaryDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EventResponseCacheTest {
+
+	private final EventResponseCache cache = new EventResponseCache(new ObjectMapper(), new SimpleMeterRegistry(), 100, 60);
+
+	@Test
+	void concurrentMissesAreBuiltOnce() throws Exception {
+		AtomicInteger builds = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<EventResponseCache.CachedResponse>> responses = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				responses.add(pool.submit(() -> cache.event(1, () -> {
+					builds.incrementAndGet();
+					await(release);
+					return event(1, "Drop");
+				})));
+			}
+			Thread.sleep(100); // let every caller reach the cache while the first build is blocked
+			release.countDown();
+
+			String etag = responses.get(0).get(5, TimeUnit.SECONDS).etag();
+			for (Future<EventResponseCache.CachedResponse> response : responses) {
+				assertThat(response.get(5, TimeUnit.SECONDS).etag()).isEqualTo(etag);
+			}
+			assertThat(builds).hasValue(1);
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	void writesDropOnlyTheAffectedEntries() {
+		AtomicInteger builds = new AtomicInteger();
+		Date d1 = new Date(1_000_000L), d2 = new Date(2_000_000L), d3 = new Date(3_000_000L);
+		String page2Cursor = cursor(d2, 2);
+
+		String page1 = cache.catalogPage(null, 2, false, () -> {
+			builds.incrementAndGet();
+			return new EventCatalogPage(List.of(summary(1, d1), summary(2, d2)), page2Cursor);
+		}).etag();
+		String page2 = cache.catalogPage(page2Cursor, 2, false, () -> {
+			builds.incrementAndGet();
+			return new EventCatalogPage(List.of(summary(3, d3)), null);
+		}).etag();
+		String detail1 = cache.event(1, () -> event(1, "One")).etag();
+
+		// event 3 is only on the last page, which also covers everything after it
+		cache.onEventChanged(3, d3, new Date(4_000_000L));
+
+		assertThat(cache.catalogPage(null, 2, false, () -> {
+			throw new AssertionError("page 1 does not contain event 3");
+		}).etag()).isEqualTo(page1);
+		assertThat(cache.event(1, () -> {
+			throw new AssertionError("event 1 was not written");
+		}).etag()).isEqualTo(detail1);
+		assertThat(cache.catalogPage(page2Cursor, 2, false, () -> {
+			builds.incrementAndGet();
+			return new EventCatalogPage(List.of(summary(3, new Date(4_000_000L))), null);
+		}).etag()).isNotEqualTo(page2);
+		assertThat(builds).hasValue(3);
+
+		// moving event 3 before event 2 lands it on page 1
+		cache.onEventChanged(3, new Date(4_000_000L), new Date(1_500_000L));
+		assertThat(cache.catalogPage(null, 2, false, () -> {
+			builds.incrementAndGet();
+			return new EventCatalogPage(List.of(summary(1, d1), summary(3, new Date(1_500_000L))), cursor(new Date(1_500_000L), 3));
+		}).etag()).isNotEqualTo(page1);
+	}
+
+	@Test
+	void attendeeChangesDropTheDetailOnly() {
+		String detail = cache.event(7, () -> event(7, "Seven")).etag();
+
+		cache.onAttendeesChanged(7);
+
+		assertThat(cache.event(7, () -> event(7, "Seven")).etag()).isNotEqualTo(detail);
+	}
+
+	@Test
+	void failedBuildsAreNotCached() {
+		assertThatThrownBy(() -> cache.event(9, () -> {
+			throw new IllegalArgumentException("Event not found: 9");
+		})).isInstanceOf(IllegalArgumentException.class);
+
+		assertThat(cache.event(9, () -> event(9, "Created meanwhile")).body()).isNotEmpty();
+	}
+
+	private static Event event(int id, String name) {
+		Event event = new Event();
+		event.setId(id);
+		event.setName(name);
+		return event;
+	}
+
+	private static EventSummaryDto summary(int id, Date date) {
+		return new EventSummaryDto(id, "Event " + id, date, null, null, null, null, null);
+	}
+
+	// same format as EventService's catalog cursors
+	private static String cursor(Date date, int id) {
+		String raw = "d:" + date.getTime() + ":" + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,189 @@
+package com.eventeanagementsystem.event_management_system.service;
+
+import com.eventeanagementsystem.event_management_system.PostgresIntegrationTest;
+import com.eventeanagementsystem.event_management_system.db.*;
+import com.eventeanagementsystem.event_management_system.security.AuthenticatedUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Ticket drop: many users request the same event at once.
+ * Checks that reserved mode never grants more requests than seats nor two to the same user.
+ * The throughput comparison of both booking modes is tagged "load" and only runs with {@code ./mvnw -Ploadtest test}.
+ */
+class SeatReservationStressTest extends PostgresIntegrationTest {
+
+	private static final int THREADS = 32;
+
+	@Autowired
+	private AttendeeService attendeeService;
+	@Autowired
+	private SeatReservationEngine seatReservationEngine;
+	@Autowired
+	private EventRepository eventRepository;
+	@Autowired
+	private AttendeeRepository attendeeRepository;
+	@Autowired
+	private AppUserRepository appUserRepository;
+
+	@AfterEach
+	void resetMode() {
+		ReflectionTestUtils.setField(attendeeService, "bookingMode", "direct");
+	}
+
+	@Test
+	void reservedModeGrantsExactlyTheSeats() throws Exception {
+		int seats = 50;
+		Event event = newEvent(seats);
+		List<AppUser> users = newUsers("reserved", 400);
+
+		ReflectionTestUtils.setField(attendeeService, "bookingMode", "reserved");
+		Result result = stampede(event, users);
+		seatReservationEngine.flush();
+
+		assertThat(result.granted).isEqualTo(seats);
+		List<Attendee> rows = attendeeRepository.findByEventIdAndStatus(event.getId(), AttendanceStatus.PENDING);
+		assertThat(rows).hasSize(seats);
+		assertThat(rows.stream().map(a -> a.getUser().getId()).distinct()).hasSize(seats);
+	}
+
+	@Test
+	void reloadCountsRequestsNotWrittenYet() {
+		Event event = newEvent(1);
+		List<AppUser> users = newUsers("reload", 2);
+		ReflectionTestUtils.setField(attendeeService, "bookingMode", "reserved");
+
+		requestAs(users.get(0), event);
+		seatReservationEngine.evict(event.getId());
+
+		assertThatThrownBy(() -> requestAs(users.get(1), event)).hasMessageContaining("full");
+		assertThat(attendeeRepository.findByEventIdAndStatus(event.getId(), AttendanceStatus.PENDING))
+				.extracting(a -> a.getUser().getId())
+				.containsExactly(users.get(0).getId());
+	}
+
+	@Test
+	void reservedModeRejectsDuplicatesAndReopensRejectedSeats() {
+		Event event = newEvent(1);
+		List<AppUser> users = newUsers("reopen", 2);
+		ReflectionTestUtils.setField(attendeeService, "bookingMode", "reserved");
+
+		requestAs(users.get(0), event);
+		assertThatThrownBy(() -> requestAs(users.get(0), event)).hasMessageContaining("already requested");
+		assertThatThrownBy(() -> requestAs(users.get(1), event)).hasMessageContaining("full");
+
+		seatReservationEngine.flush();
+		Attendee first = attendeeRepository.findByEventIdAndStatus(event.getId(), AttendanceStatus.PENDING).get(0);
+		attendeeService.rejectAttendance(first.getId());
+
+		requestAs(users.get(1), event);
+		seatReservationEngine.flush();
+		assertThat(attendeeRepository.findByEventIdAndStatus(event.getId(), AttendanceStatus.PENDING))
+				.extracting(a -> a.getUser().getId())
+				.containsExactly(users.get(1).getId());
+	}
+
+	@Test
+	@Tag("load")
+	void reservedModeThroughput() throws Exception {
+		Event event = newEvent(200);
+		List<AppUser> users = newUsers("reserved-load", 2000);
+
+		ReflectionTestUtils.setField(attendeeService, "bookingMode", "reserved");
+		Result result = stampede(event, users);
+		seatReservationEngine.flush();
+
+		System.out.printf("reserved mode: %d requests in %d ms (%.0f req/s), %d granted%n",
+				users.size(), result.millis, users.size() * 1000.0 / result.millis, result.granted);
+		assertThat(result.granted).isEqualTo(200);
+	}
+
+	@Test
+	@Tag("load")
+	void directModeThroughputForComparison() throws Exception {
+		Event event = newEvent(200);
+		List<AppUser> users = newUsers("direct", 2000);
+
+		Result result = stampede(event, users);
+
+		System.out.printf("direct mode: %d requests in %d ms (%.0f req/s), %d granted%n",
+				users.size(), result.millis, users.size() * 1000.0 / result.millis, result.granted);
+		assertThat(result.granted).isEqualTo(users.size()); // direct mode does not cap pending requests
+	}
+
+	private record Result(int granted, long millis) {}
+
+	private Result stampede(Event event, List<AppUser> users) throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicInteger granted = new AtomicInteger();
+		List<Future<?>> results = new ArrayList<>();
+		for (AppUser user : users) {
+			results.add(pool.submit(() -> {
+				start.await();
+				try {
+					requestAs(user, event);
+					granted.incrementAndGet();
+				} catch (IllegalStateException ex) {
+					// full
+				}
+				return null;
+			}));
+		}
+		long begin = System.nanoTime();
+		start.countDown();
+		for (Future<?> result : results) {
+			result.get(120, TimeUnit.SECONDS);
+		}
+		long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin));
+		pool.shutdown();
+		return new Result(granted.get(), millis);
+	}
+
+	private void requestAs(AppUser user, Event event) {
+		AuthenticatedUser principal = new AuthenticatedUser(user.getEmail(), user.getId(), null);
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+				principal, null, List.of(new SimpleGrantedAuthority("ROLE_ATTENDEE"))));
+		try {
+			Attendee body = new Attendee();
+			body.setName(user.getEmail());
+			body.setEmail(user.getEmail());
+			attendeeService.requestToAttendEvent(event.getId(), body);
+		} finally {
+			SecurityContextHolder.clearContext();
+		}
+	}
+
+	private Event newEvent(int maxAttendees) {
+		Event event = new Event();
+		event.setName("Ticket drop");
+		event.setMaxAttendees(maxAttendees);
+		return eventRepository.save(event);
+	}
+
+	private List<AppUser> newUsers(String prefix, int count) {
+		List<AppUser> users = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			users.add(new AppUser(null, prefix + i + "-" + System.nanoTime() + "@example.com", "n/a", UserRole.ATTENDEE));
+		}
+		return appUserRepository.saveAll(users);
+	}
+}